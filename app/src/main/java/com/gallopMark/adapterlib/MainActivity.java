@@ -8,6 +8,7 @@ import androidx.recyclerview.widget.GridLayoutManager;
 import android.view.View;
 import android.widget.Toast;
 
+import com.gallopmark.recycler.adapterhelper.BaseRecyclerAdapter;
 import com.gallopmark.recycler.adapterhelper.CommonAdapter;
 import com.gallopmark.recycler.decorationhepler.GridItemDecoration;
 import com.gallopmark.recycler.swipehelper.OnSwipeItemTouchListener;
@@ -48,7 +49,17 @@ public class MainActivity extends AppCompatActivity {
 //        recyclerView.addHeaderView(headerView);
 //        View footerView = getLayoutInflater().inflate(R.layout.footer_view, recyclerView, false);
 //        recyclerView.addFooterView(footerView);
-        MySwipeAdapter adapter = new MySwipeAdapter(this, list);
+        final MySwipeAdapter adapter = new MySwipeAdapter(this, list);
+        adapter.registerChildClick(0, R.id.tvDelete);
+        adapter.setOnItemChildClickListener(new BaseRecyclerAdapter.OnItemChildClickListener() {
+            @Override
+            public void onItemChildClick(BaseRecyclerAdapter baseAdapter, BaseRecyclerAdapter.RecyclerHolder holder, View view, int position) {
+                SwipeItemLayout swipeItemLayout = holder.obtainView(R.id.swipeItemLayout);
+                swipeItemLayout.close();
+                adapter.removeItem(position);
+                Toast.makeText(getApplicationContext(), "删除了第" + position + "条", Toast.LENGTH_LONG).show();
+            }
+        });
         recyclerView.setAdapter(adapter);
     }
 
@@ -59,18 +70,8 @@ public class MainActivity extends AppCompatActivity {
         }
 
         @Override
-        public void onBindHolder(RecyclerHolder holder, String s, final int position) {
-            final SwipeItemLayout swipeItemLayout = holder.obtainView(R.id.swipeItemLayout);
+        public void onBindHolder(RecyclerHolder holder, String s, int position) {
             holder.setText(R.id.tvTitle, s);
-            holder.setOnClickListener(R.id.tvDelete, new View.OnClickListener() {
-                @Override
-                public void onClick(View view) {
-                    swipeItemLayout.close();
-                    mDatas.remove(position);
-                    notifyDataSetChanged();
-                    Toast.makeText(getApplicationContext(), "删除了第" + position + "条", Toast.LENGTH_LONG).show();
-                }
-            });
         }
 
         @Override
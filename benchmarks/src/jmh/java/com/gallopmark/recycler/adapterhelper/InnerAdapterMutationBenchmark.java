@@ -0,0 +1,116 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InnerAdapter增删改时对数据及索引的操作：与InnerAdapter一样，先修改数据列表，
+ * 再通知其内部的{@link ItemIndexes}，之后按key、id查找位置
+ * InnerAdapter本身继承RecyclerView.Adapter，无法在JVM上创建，这里直接操作ItemIndexes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InnerAdapterMutationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Item> mDatas;
+    private ItemIndexes<Item> mIndexes;
+    private long mNextId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        mDatas = new ArrayList<>(size + 1);
+        for (int i = 0; i < size; i++) {
+            mDatas.add(new Item(i));
+        }
+        mNextId = size;
+        mIndexes = new ItemIndexes<>();
+        mIndexes.setKeyIndex(new ItemKeyIndex<Item>() {
+            @Override
+            Object keyOf(Item item) {
+                return item.key;
+            }
+        });
+        mIndexes.setStableIdIndex(new StableIdIndex<Item>() {
+            @Override
+            long idOf(Item item) {
+                return item.id;
+            }
+        });
+        // 建立索引
+        mIndexes.indexOf(mDatas, mDatas.get(0));
+        mIndexes.findPosition(mDatas, 0);
+    }
+
+    /**
+     * 头部插入后删除，数据长度不变；位置修正延迟到查找时
+     */
+    @Benchmark
+    public int insertRemoveHead() {
+        Item item = new Item(mNextId++);
+        mDatas.add(0, item);
+        mIndexes.onInserted(mDatas, 0, 1);
+        int position = mIndexes.indexOf(mDatas, item);
+        Item removed = mDatas.remove(0);
+        mIndexes.onRemoved(removed, 0);
+        return position;
+    }
+
+    /**
+     * 替换中间的数据后按id查找
+     */
+    @Benchmark
+    public int replaceMiddle() {
+        int position = size / 2;
+        Item item = new Item(mNextId++);
+        Item old = mDatas.set(position, item);
+        mIndexes.onReplaced(old, item, position);
+        return mIndexes.findPosition(mDatas, item.id);
+    }
+
+    /**
+     * 删除中间的数据后查找末尾的数据，触发位置修正，再插回原处
+     */
+    @Benchmark
+    public int removeMiddleThenFind() {
+        int position = size / 2;
+        Item removed = mDatas.remove(position);
+        mIndexes.onRemoved(removed, position);
+        int found = mIndexes.indexOf(mDatas, mDatas.get(mDatas.size() - 1));
+        mDatas.add(position, removed);
+        mIndexes.onInserted(mDatas, position, 1);
+        return found;
+    }
+
+    /**
+     * 未变化时按key查找，只有一次哈希查找
+     */
+    @Benchmark
+    public boolean containsItem() {
+        return mIndexes.contains(mDatas, mDatas.get(size - 1));
+    }
+
+    static final class Item {
+        final long id;
+        final String key;
+
+        Item(long id) {
+            this.id = id;
+            this.key = "item_" + id;
+        }
+    }
+}
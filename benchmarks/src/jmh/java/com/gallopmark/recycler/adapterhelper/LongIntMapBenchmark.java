@@ -0,0 +1,61 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StableIdIndex使用的long -> int映射
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LongIntMapBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private LongIntMap mMap;
+    private int mCursor;
+
+    @Setup
+    public void setUp() {
+        mMap = new LongIntMap();
+        for (int i = 0; i < size; i++) {
+            mMap.put(idAt(i), i);
+        }
+    }
+
+    @Benchmark
+    public int get() {
+        mCursor = (mCursor + 1) % size;
+        return mMap.get(idAt(mCursor));
+    }
+
+    @Benchmark
+    public int getMissing() {
+        mCursor = (mCursor + 1) % size;
+        return mMap.get(-idAt(mCursor) - 1);
+    }
+
+    @Benchmark
+    public int removePut() {
+        mCursor = (mCursor + 1) % size;
+        long id = idAt(mCursor);
+        mMap.remove(id);
+        mMap.put(id, mCursor);
+        return mCursor;
+    }
+
+    // 分散的id，模拟数据库主键或哈希生成的id
+    private static long idAt(int i) {
+        return i * 0x9E3779B97F4A7C15L;
+    }
+}
@@ -0,0 +1,55 @@
+package com.gallopmark.recycler.decorationhepler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GridItemDecoration.getItemOffsets中的行、列判断，遍历全部位置一次
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GridPositionsBenchmark {
+    private static final int CHILD_COUNT = 10000;
+
+    @Param({"1", "2", "3"})
+    public int layout;
+
+    @Param({"2", "3", "5"})
+    public int spanCount;
+
+    /**
+     * 与getItemOffsets相同的判断顺序：先判断最后一行，再判断最后一列
+     */
+    @Benchmark
+    public int classifyOffsets() {
+        int count = 0;
+        for (int pos = 0; pos < CHILD_COUNT; pos++) {
+            if (GridPositions.isLastRow(layout, pos, spanCount, CHILD_COUNT)) {
+                count += 2;
+            } else if (GridPositions.isLastColumn(layout, pos, spanCount, CHILD_COUNT)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int classifyAll() {
+        int count = 0;
+        for (int pos = 0; pos < CHILD_COUNT; pos++) {
+            if (GridPositions.isFirstRow(layout, pos, spanCount, CHILD_COUNT)) count++;
+            if (GridPositions.isFirstColumn(layout, pos, spanCount, CHILD_COUNT)) count++;
+            if (GridPositions.isLastRow(layout, pos, spanCount, CHILD_COUNT)) count++;
+            if (GridPositions.isLastColumn(layout, pos, spanCount, CHILD_COUNT)) count++;
+        }
+        return count;
+    }
+}
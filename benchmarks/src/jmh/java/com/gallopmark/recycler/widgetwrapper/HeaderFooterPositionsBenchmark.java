@@ -0,0 +1,94 @@
+package com.gallopmark.recycler.widgetwrapper;
+
+import android.util.SparseArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WrapRecyclerAdapter.getItemViewType及位置换算，遍历全部位置一次
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HeaderFooterPositionsBenchmark {
+    private static final int ITEM_COUNT = 10000;
+
+    @Param({"0", "10", "100"})
+    public int headerFooterCount;
+
+    private SparseArray<Object> mHeaders;
+    private SparseArray<Object> mFooters;
+    private HeaderFooterPositions.Items mItems;
+    private int mTotalCount;
+
+    @Setup
+    public void setUp() {
+        mHeaders = new SparseArray<>();
+        mFooters = new SparseArray<>();
+        // 与WrapperRecyclerView相同的viewType起始值
+        for (int i = 0; i < headerFooterCount; i++) {
+            mHeaders.put(10000000 + i, new Object());
+            mFooters.put(20000000 + i, new Object());
+        }
+        mItems = new HeaderFooterPositions.Items() {
+            @Override
+            public int getItemCount() {
+                return ITEM_COUNT;
+            }
+
+            @Override
+            public int getItemViewType(int position) {
+                return position & 3;
+            }
+        };
+        mTotalCount = ITEM_COUNT + headerFooterCount * 2;
+    }
+
+    @Benchmark
+    public int getItemViewType() {
+        int sum = 0;
+        for (int position = 0; position < mTotalCount; position++) {
+            sum += HeaderFooterPositions.getItemViewType(mHeaders, mFooters, mItems, position);
+        }
+        return sum;
+    }
+
+    /**
+     * 绑定及getSpanSize时的header、footer判断
+     */
+    @Benchmark
+    public int isHeaderOrFooter() {
+        int count = 0;
+        int headerCount = mHeaders.size();
+        for (int position = 0; position < mTotalCount; position++) {
+            if (HeaderFooterPositions.isHeaderPosition(position, headerCount)
+                    || HeaderFooterPositions.isFooterPosition(position, headerCount, ITEM_COUNT)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * onCreateViewHolder中按viewType判断是否为header、footer
+     */
+    @Benchmark
+    public int isHeaderFooterViewType() {
+        int count = 0;
+        for (int i = 0; i < mHeaders.size(); i++) {
+            if (mHeaders.indexOfKey(mHeaders.keyAt(i)) >= 0) count++;
+            if (mFooters.indexOfKey(mFooters.keyAt(i)) >= 0) count++;
+        }
+        if (mHeaders.indexOfKey(0) >= 0 || mFooters.indexOfKey(0) >= 0) count++;
+        return count;
+    }
+}
@@ -0,0 +1,61 @@
+package com.gallopmark.recycler;
+
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.core.os.TraceCompat;
+
+/**
+ * 在systrace/Perfetto中标记本库的耗时区段
+ * 通过gradle属性开启：-PrecyclerTrace=true，未开启时{@link #ENABLED}为编译期常量false，
+ * 调用处以if (RecyclerTrace.ENABLED)包裹，整段代码会被编译器移除
+ * 只在主线程调用
+ */
+public final class RecyclerTrace {
+    public static final boolean ENABLED = BuildConfig.RECYCLER_TRACE;
+
+    // 按viewType缓存的区段名，避免每次拼接字符串
+    private static final SparseArray<String> sCreateSections = new SparseArray<>();
+    private static final SparseArray<String> sBindSections = new SparseArray<>();
+    private static int sDepth;
+
+    private RecyclerTrace() {
+    }
+
+    public static void begin(@NonNull String sectionName) {
+        sDepth++;
+        TraceCompat.beginSection(sectionName);
+    }
+
+    public static void end() {
+        TraceCompat.endSection();
+        sDepth--;
+    }
+
+    /**
+     * 当前未结束的区段数，所有区段结束后应为0
+     */
+    public static int getDepth() {
+        return sDepth;
+    }
+
+    @NonNull
+    public static String createSection(int viewType) {
+        String name = sCreateSections.get(viewType);
+        if (name == null) {
+            name = "RV.createViewHolder type=" + viewType;
+            sCreateSections.put(viewType, name);
+        }
+        return name;
+    }
+
+    @NonNull
+    public static String bindSection(int viewType) {
+        String name = sBindSections.get(viewType);
+        if (name == null) {
+            name = "RV.bindViewHolder type=" + viewType;
+            sBindSections.put(viewType, name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,105 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 适配器共用的后台线程池与主线程调度
+ */
+public final class AdapterExecutors {
+    private static final int BACKGROUND_THREAD_COUNT = 2;
+    private static final int PREFETCH_THREAD_COUNT = 2;
+    private static volatile ExecutorService sBackgroundExecutor;
+    private static volatile ExecutorService sPrefetchExecutor;
+    private static volatile Executor sMainThreadExecutor;
+
+    private AdapterExecutors() {
+    }
+
+    /**
+     * 后台线程池，线程为低优先级的守护线程
+     */
+    @NonNull
+    public static ExecutorService background() {
+        if (sBackgroundExecutor == null) {
+            synchronized (AdapterExecutors.class) {
+                if (sBackgroundExecutor == null) {
+                    sBackgroundExecutor = Executors.newFixedThreadPool(BACKGROUND_THREAD_COUNT, new BackgroundThreadFactory("recycler-background-"));
+                }
+            }
+        }
+        return sBackgroundExecutor;
+    }
+
+    /**
+     * 数据预取专用的线程池，与{@link #background()}分开，
+     * 快速滑动时大量的预取任务不会阻塞差异计算、文字排版、图片解码
+     */
+    @NonNull
+    public static ExecutorService prefetch() {
+        if (sPrefetchExecutor == null) {
+            synchronized (AdapterExecutors.class) {
+                if (sPrefetchExecutor == null) {
+                    sPrefetchExecutor = Executors.newFixedThreadPool(PREFETCH_THREAD_COUNT, new BackgroundThreadFactory("recycler-prefetch-"));
+                }
+            }
+        }
+        return sPrefetchExecutor;
+    }
+
+    @NonNull
+    public static Executor mainThread() {
+        if (sMainThreadExecutor == null) {
+            synchronized (AdapterExecutors.class) {
+                if (sMainThreadExecutor == null) {
+                    sMainThreadExecutor = new MainThreadExecutor();
+                }
+            }
+        }
+        return sMainThreadExecutor;
+    }
+
+    public static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    private static class MainThreadExecutor implements Executor {
+        private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            mHandler.post(command);
+        }
+    }
+
+    private static class BackgroundThreadFactory implements ThreadFactory {
+        private final String mNamePrefix;
+        private final AtomicInteger mCount = new AtomicInteger(1);
+
+        BackgroundThreadFactory(String namePrefix) {
+            this.mNamePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(@NonNull final Runnable r) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    r.run();
+                }
+            }, mNamePrefix + mCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.os.SystemClock;
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 按viewType统计holder的创建、绑定耗时
+ * 耗时按微秒以2的幂分桶计数，每个viewType第一次出现时分配一次，之后记录不再分配内存；
+ * 每隔intervalMillis把结果交给{@link AdapterMetricsListener}并清零
+ * 只在主线程访问
+ */
+public class AdapterMetrics {
+    // 第0个桶为小于1µs，第i个桶为[2^(i-1), 2^i)µs，最后一个桶包含所有更大的值
+    private static final int BUCKET_COUNT = 24;
+
+    private final AdapterMetricsListener mListener;
+    private final long mIntervalMillis;
+    private final SparseArray<ViewTypeStats> mStats = new SparseArray<>();
+    private long mWindowStart = SystemClock.uptimeMillis();
+    // 自创建以来的累计次数，不随统计周期清零
+    private long mTotalCreateCount;
+    private long mTotalBindCount;
+    private long mTotalRebindCount;
+
+    public AdapterMetrics(@NonNull AdapterMetricsListener listener, long intervalMillis) {
+        this.mListener = listener;
+        this.mIntervalMillis = intervalMillis;
+    }
+
+    public void recordCreate(int viewType, long durationNanos) {
+        ViewTypeStats stats = obtainStats(viewType);
+        stats.createBuckets[bucketOf(durationNanos)]++;
+        stats.createCount++;
+        mTotalCreateCount++;
+        maybeReport();
+    }
+
+    public void recordBind(int viewType, long durationNanos) {
+        recordBind(viewType, durationNanos, false);
+    }
+
+    /**
+     * @param rebind holder之前已绑定过，即从缓存池取出复用或因数据变化重新绑定
+     */
+    public void recordBind(int viewType, long durationNanos, boolean rebind) {
+        ViewTypeStats stats = obtainStats(viewType);
+        stats.bindBuckets[bucketOf(durationNanos)]++;
+        stats.bindCount++;
+        mTotalBindCount++;
+        if (rebind) {
+            stats.rebindCount++;
+            mTotalRebindCount++;
+        }
+        maybeReport();
+    }
+
+    public long getTotalCreateCount() {
+        return mTotalCreateCount;
+    }
+
+    public long getTotalBindCount() {
+        return mTotalBindCount;
+    }
+
+    /**
+     * 绑定到已绑定过的holder的累计次数，滑动时应接近绑定次数，说明holder被复用而不是重新创建
+     */
+    public long getTotalRebindCount() {
+        return mTotalRebindCount;
+    }
+
+    /**
+     * 当前统计周期内的结果
+     */
+    @NonNull
+    public List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<>(mStats.size());
+        for (int i = 0; i < mStats.size(); i++) {
+            ViewTypeStats stats = mStats.valueAt(i);
+            if (stats.createCount == 0 && stats.bindCount == 0) continue;
+            snapshots.add(new Snapshot(mStats.keyAt(i), stats));
+        }
+        return snapshots;
+    }
+
+    public void reset() {
+        for (int i = 0; i < mStats.size(); i++) {
+            ViewTypeStats stats = mStats.valueAt(i);
+            Arrays.fill(stats.createBuckets, 0);
+            Arrays.fill(stats.bindBuckets, 0);
+            stats.createCount = 0;
+            stats.bindCount = 0;
+            stats.rebindCount = 0;
+        }
+        mWindowStart = SystemClock.uptimeMillis();
+    }
+
+    private void maybeReport() {
+        if (SystemClock.uptimeMillis() - mWindowStart < mIntervalMillis) return;
+        List<Snapshot> snapshots = snapshot();
+        reset();
+        mListener.onMetricsSnapshot(snapshots);
+    }
+
+    private ViewTypeStats obtainStats(int viewType) {
+        ViewTypeStats stats = mStats.get(viewType);
+        if (stats == null) {
+            stats = new ViewTypeStats();
+            mStats.put(viewType, stats);
+        }
+        return stats;
+    }
+
+    private static int bucketOf(long durationNanos) {
+        long micros = durationNanos / 1000;
+        if (micros <= 0) return 0;
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+    }
+
+    /**
+     * 百分位所在桶的上界（µs），没有记录时为0
+     */
+    private static long percentile(long[] buckets, int count, double fraction) {
+        if (count == 0) return 0;
+        long target = (long) Math.ceil(count * fraction);
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i];
+            if (cumulative >= target) return 1L << i;
+        }
+        return 1L << (buckets.length - 1);
+    }
+
+    private static class ViewTypeStats {
+        final long[] createBuckets = new long[BUCKET_COUNT];
+        final long[] bindBuckets = new long[BUCKET_COUNT];
+        int createCount;
+        int bindCount;
+        int rebindCount;
+    }
+
+    /**
+     * 一个viewType在统计周期内的结果，耗时单位为µs，取所在桶的上界
+     */
+    public static final class Snapshot {
+        public final int viewType;
+        public final int createCount;
+        public final int bindCount;
+        // 缓存池及缓存中没有可复用的holder时才会创建，创建次数即缓存池未命中次数
+        public final int poolMissCount;
+        // 绑定到已绑定过的holder的次数，即从缓存池复用（或因数据变化重新绑定）的次数
+        public final int rebindCount;
+        public final long createP50;
+        public final long createP95;
+        public final long createP99;
+        public final long bindP50;
+        public final long bindP95;
+        public final long bindP99;
+
+        private Snapshot(int viewType, ViewTypeStats stats) {
+            this.viewType = viewType;
+            this.createCount = stats.createCount;
+            this.bindCount = stats.bindCount;
+            this.poolMissCount = stats.createCount;
+            this.rebindCount = stats.rebindCount;
+            this.createP50 = percentile(stats.createBuckets, stats.createCount, 0.50);
+            this.createP95 = percentile(stats.createBuckets, stats.createCount, 0.95);
+            this.createP99 = percentile(stats.createBuckets, stats.createCount, 0.99);
+            this.bindP50 = percentile(stats.bindBuckets, stats.bindCount, 0.50);
+            this.bindP95 = percentile(stats.bindBuckets, stats.bindCount, 0.95);
+            this.bindP99 = percentile(stats.bindBuckets, stats.bindCount, 0.99);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "viewType=" + viewType + " create=" + createCount + " bind=" + bindCount + " rebind=" + rebindCount
+                    + " create(p50/p95/p99)=" + createP50 + "/" + createP95 + "/" + createP99 + "µs"
+                    + " bind(p50/p95/p99)=" + bindP50 + "/" + bindP95 + "/" + bindP99 + "µs";
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * 定期接收{@link AdapterMetrics}统计结果，在主线程回调
+ */
+public interface AdapterMetricsListener {
+    /**
+     * @param snapshots 上一个统计周期内每个viewType的结果，回调后统计数据清零
+     */
+    void onMetricsSnapshot(@NonNull List<AdapterMetrics.Snapshot> snapshots);
+}
@@ -3,6 +3,9 @@ package com.gallopmark.recycler.adapterhelper;
 import android.content.Context;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
+import android.os.Parcelable;
+import android.text.Spanned;
+import android.text.TextUtils;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.ColorRes;
@@ -10,25 +13,32 @@ import androidx.annotation.DrawableRes;
 import androidx.annotation.IdRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.core.content.ContextCompat;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.widget.TextViewCompat;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import android.util.LruCache;
 import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.CheckBox;
 import android.widget.Checkable;
 import android.widget.ImageView;
 import android.widget.ProgressBar;
-import android.widget.RadioButton;
 import android.widget.TextView;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 
 public abstract class BaseRecyclerAdapter extends RecyclerView.Adapter<BaseRecyclerAdapter.RecyclerHolder> {
 
+    private static final int MAX_NESTED_STATES = 64;
+
     protected Context mContext;
     protected LayoutInflater mLayoutInflater;
     private OnItemClickListener onItemClickListener;
@@ -36,17 +46,219 @@ public abstract class BaseRecyclerAdapter extends RecyclerView.Adapter<BaseRecyc
     private OnItemChildClickListener onItemChildClickListener;
     private OnItemChildLongClickListener onItemChildLongClickListener;
 
+    private boolean mDirtyCheckEnabled;
+    private int mSkippedInvalidationCount;
+    private TextLayoutCache mTextLayoutCache;
+    private BitmapResourceLoader mBitmapLoader;
+    private final ResourceCache mResourceCache;
+    private AdapterMetrics mMetrics;
+    private final SparseArray<int[]> mViewSchemas = new SparseArray<>();
+    private final SparseArray<int[]> mChildClickIds = new SparseArray<>();
+    private final SparseArray<int[]> mChildLongClickIds = new SparseArray<>();
+    // 嵌套列表的id -> adapter类型 -> 缓存池
+    private final SparseArray<IdentityHashMap<Class<?>, RecyclerView.RecycledViewPool>> mNestedViewPools = new SparseArray<>();
+    // 只保留最近使用的嵌套列表滑动位置
+    private final LruCache<Object, Parcelable> mNestedStates = new LruCache<>(MAX_NESTED_STATES);
+
     protected BaseRecyclerAdapter(Context context) {
         this.mContext = context;
         this.mLayoutInflater = LayoutInflater.from(this.mContext);
+        this.mResourceCache = new ResourceCache(context);
     }
 
     public Object getItem(int position) {
         return null;
     }
 
+    /**
+     * 开启后setText、setVisibility、setTextColor、setImageResource等在值未变化时跳过对控件的调用，
+     * 避免重复的requestLayout和重绘
+     */
+    public void setDirtyCheckEnabled(boolean dirtyCheckEnabled) {
+        this.mDirtyCheckEnabled = dirtyCheckEnabled;
+    }
+
+    /**
+     * 因值未变化而跳过的控件调用次数，只在开启脏检查时统计
+     */
+    public int getSkippedInvalidationCount() {
+        return mSkippedInvalidationCount;
+    }
+
+    public void resetSkippedInvalidationCount() {
+        mSkippedInvalidationCount = 0;
+    }
+
+    /**
+     * 预先计算文字排版的缓存，供{@link RecyclerHolder#setPrecomputedText}使用
+     */
+    @NonNull
+    public TextLayoutCache getTextLayoutCache() {
+        if (mTextLayoutCache == null) mTextLayoutCache = new TextLayoutCache();
+        return mTextLayoutCache;
+    }
+
+    /**
+     * 声明viewType绑定时用到的控件id，创建holder时一次性查找，
+     * 绑定时通过{@link RecyclerHolder#viewAt(int)}、setTextAt等按声明的下标直接访问
+     * 需在创建holder之前调用
+     */
+    public void registerViewSchema(int viewType, @IdRes int... ids) {
+        mViewSchemas.put(viewType, ids);
+    }
+
+    /**
+     * 声明viewType中需要响应点击的子控件，创建holder时设置一次监听，
+     * 点击通过{@link OnItemChildClickListener}分发，不需要在绑定时设置监听
+     * 需在创建holder之前调用
+     */
+    public void registerChildClick(int viewType, @IdRes int... ids) {
+        mChildClickIds.put(viewType, ids);
+    }
+
+    /**
+     * 同{@link #registerChildClick(int, int...)}，通过{@link OnItemChildLongClickListener}分发
+     */
+    public void registerChildLongClick(int viewType, @IdRes int... ids) {
+        mChildLongClickIds.put(viewType, ids);
+    }
+
+    /**
+     * 子类在onCreateViewHolder中通过该方法创建holder
+     */
+    @NonNull
+    protected RecyclerHolder createHolder(@NonNull View itemView, int viewType) {
+        RecyclerHolder holder = new RecyclerHolder(itemView);
+        holder.resolveViewSchema(mViewSchemas.get(viewType));
+        int[] clickIds = mChildClickIds.get(viewType);
+        if (clickIds != null) {
+            for (int id : clickIds) {
+                View view = holder.obtainView(id);
+                if (view != null) view.setOnClickListener(holder);
+            }
+        }
+        int[] longClickIds = mChildLongClickIds.get(viewType);
+        if (longClickIds != null) {
+            for (int id : longClickIds) {
+                View view = holder.obtainView(id);
+                if (view != null) view.setOnLongClickListener(holder);
+            }
+        }
+        return holder;
+    }
+
+    /**
+     * item中id对应、adapter类型相同的嵌套列表共用的缓存池
+     * 缓存池只按viewType区分holder，不同类型的adapter即使viewType相同，holder也不能互用
+     */
+    @NonNull
+    public RecyclerView.RecycledViewPool getNestedViewPool(@IdRes int id, @NonNull Class<? extends RecyclerView.Adapter> adapterClass) {
+        IdentityHashMap<Class<?>, RecyclerView.RecycledViewPool> pools = mNestedViewPools.get(id);
+        if (pools == null) {
+            pools = new IdentityHashMap<>();
+            mNestedViewPools.put(id, pools);
+        }
+        RecyclerView.RecycledViewPool pool = pools.get(adapterClass);
+        if (pool == null) {
+            pool = new RecyclerView.RecycledViewPool();
+            pools.put(adapterClass, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * 清除保存的嵌套列表滑动位置，数据整体替换后可调用
+     */
+    public void clearNestedStates() {
+        mNestedStates.evictAll();
+    }
+
+    /**
+     * 按viewType统计创建、绑定耗时，每隔intervalMillis回调一次listener，listener为null时关闭统计
+     */
+    public void setMetricsListener(@Nullable AdapterMetricsListener listener, long intervalMillis) {
+        this.mMetrics = listener == null ? null : new AdapterMetrics(listener, intervalMillis);
+    }
+
+    @Nullable
+    public AdapterMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    // 未开启统计时返回0，不读取时间
+    long metricsStart() {
+        return mMetrics != null ? System.nanoTime() : 0;
+    }
+
+    void recordCreate(int viewType, long start) {
+        if (mMetrics != null && start != 0) mMetrics.recordCreate(viewType, System.nanoTime() - start);
+    }
+
+    void recordBind(RecyclerHolder holder, long start) {
+        if (mMetrics != null && start != 0) {
+            mMetrics.recordBind(holder.getItemViewType(), System.nanoTime() - start, holder.rebound);
+        }
+    }
+
+    /**
+     * setTextColorRes、setBackgroundResource等使用的资源缓存，按创建adapter时传入的context解析
+     * 控件的context不同（如布局中通过android:theme覆盖主题）时，holder按控件的context另建缓存
+     */
+    @NonNull
+    public ResourceCache getResourceCache() {
+        return mResourceCache;
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull RecyclerHolder holder) {
+        super.onViewRecycled(holder);
+        holder.saveNestedStates();
+        holder.cancelImageLoads();
+    }
+
+    /**
+     * {@link RecyclerHolder#setImageResourceAsync}使用的图片解码及缓存
+     */
+    @NonNull
+    public BitmapResourceLoader getBitmapLoader() {
+        if (mBitmapLoader == null) mBitmapLoader = new BitmapResourceLoader(mContext.getResources());
+        return mBitmapLoader;
+    }
+
+    /**
+     * 替换默认的图片解码器，可用于多个Adapter共享缓存或指定缓存大小
+     */
+    public void setBitmapLoader(@Nullable BitmapResourceLoader bitmapLoader) {
+        this.mBitmapLoader = bitmapLoader;
+    }
+
     public class RecyclerHolder extends RecyclerView.ViewHolder implements View.OnClickListener, View.OnLongClickListener {
         private SparseArray<View> holder;
+        // 由PreInflater预先创建、尚未绑定过
+        boolean mPreInflated;
+        // registerViewSchema声明的控件，按声明顺序排列
+        private View[] schemaViews;
+        // 开启脏检查时记录的上次设置的值，key为控件id
+        private SparseIntArray lastTextColors;
+        private SparseIntArray lastImageResources;
+        // setDrawableLeft等设置的资源id及位置
+        private SparseIntArray lastCompoundResources;
+        private SparseIntArray lastCompoundSides;
+        private List<ImageView> asyncImageViews;
+        private SparseArray<Object> nestedKeys;
+        // 外层Adapter（如WrapperRecyclerView添加的header）导致的位置偏移
+        private int positionOffset;
+        // 本次绑定之前是否已绑定过
+        private boolean rebound;
+        private boolean boundOnce;
+        // 控件的context与adapter不同（如布局中的android:theme）时，按控件的context解析资源所用的缓存
+        private Context themedContext;
+        private ResourceCache themedResourceCache;
+
+        private static final int DRAWABLE_LEFT = 0;
+        private static final int DRAWABLE_TOP = 1;
+        private static final int DRAWABLE_RIGHT = 2;
+        private static final int DRAWABLE_BOTTOM = 3;
 
         RecyclerHolder(View itemView) {
             super(itemView);
@@ -69,6 +281,182 @@ public abstract class BaseRecyclerAdapter extends RecyclerView.Adapter<BaseRecyc
             return (T) view;
         }
 
+        /**
+         * 绑定时记录外层位置与本Adapter位置的差值，由子类的onBindViewHolder调用
+         */
+        void onBound(int position) {
+            rebound = boundOnce;
+            boundOnce = true;
+            positionOffset = getLayoutPosition() - position;
+        }
+
+        /**
+         * 在本Adapter数据中的当前位置，已考虑绑定后的插入、删除及header的偏移
+         */
+        public int getItemPosition() {
+            int position = getAdapterPosition();
+            return position == RecyclerView.NO_POSITION ? RecyclerView.NO_POSITION : position - positionOffset;
+        }
+
+        void resolveViewSchema(@Nullable int[] ids) {
+            if (ids == null) return;
+            schemaViews = new View[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                View view = itemView.findViewById(ids[i]);
+                schemaViews[i] = view;
+                holder.put(ids[i], view);
+            }
+        }
+
+        /**
+         * 按{@link #registerViewSchema(int, int...)}声明时的下标获取子控件，不做任何查找
+         */
+        @SuppressWarnings("unchecked")
+        public final <T extends View> T viewAt(int index) {
+            return (T) schemaViews[index];
+        }
+
+        public RecyclerHolder setTextAt(int index, CharSequence text) {
+            applyText((TextView) schemaViews[index], text);
+            return this;
+        }
+
+        public RecyclerHolder setTextColorAt(int index, @ColorInt int color) {
+            applyTextColor((TextView) schemaViews[index], color);
+            return this;
+        }
+
+        public RecyclerHolder setImageResourceAt(int index, @DrawableRes int resId) {
+            applyImageResource((ImageView) schemaViews[index], resId);
+            return this;
+        }
+
+        public RecyclerHolder setVisibilityAt(int index, int visibility) {
+            applyVisibility(schemaViews[index], visibility);
+            return this;
+        }
+
+        public RecyclerHolder setVisibilityAt(int index, boolean isVisible) {
+            applyVisibility(schemaViews[index], isVisible ? View.VISIBLE : View.GONE);
+            return this;
+        }
+
+        public RecyclerHolder setBackgroundColorAt(int index, @ColorInt int color) {
+            schemaViews[index].setBackgroundColor(color);
+            return this;
+        }
+
+        public RecyclerHolder setCheckedAt(int index, boolean isChecked) {
+            ((Checkable) schemaViews[index]).setChecked(isChecked);
+            return this;
+        }
+
+        public RecyclerHolder setEnabledAt(int index, boolean isEnabled) {
+            schemaViews[index].setEnabled(isEnabled);
+            return this;
+        }
+
+        /**
+         * 清除该holder记录的文字颜色、图片资源，绕过holder直接修改了这些控件时调用
+         */
+        public void invalidateViewCache() {
+            if (lastTextColors != null) lastTextColors.clear();
+            if (lastImageResources != null) lastImageResources.clear();
+            if (lastCompoundResources != null) lastCompoundResources.clear();
+        }
+
+        // 带格式的文本即使字符相同也可能样式不同，不做比较
+        private void applyText(TextView view, CharSequence text) {
+            if (mDirtyCheckEnabled && !(text instanceof Spanned) && TextUtils.equals(view.getText(), text)) {
+                mSkippedInvalidationCount++;
+                return;
+            }
+            view.setText(text);
+        }
+
+        private void applyVisibility(View view, int visibility) {
+            if (mDirtyCheckEnabled && view.getVisibility() == visibility) {
+                mSkippedInvalidationCount++;
+                return;
+            }
+            view.setVisibility(visibility);
+        }
+
+        private void applyTextColor(TextView view, @ColorInt int color) {
+            if (mDirtyCheckEnabled) {
+                if (lastTextColors == null) lastTextColors = new SparseIntArray();
+                int index = lastTextColors.indexOfKey(view.getId());
+                if (index >= 0 && lastTextColors.valueAt(index) == color) {
+                    mSkippedInvalidationCount++;
+                    return;
+                }
+                lastTextColors.put(view.getId(), color);
+            }
+            view.setTextColor(color);
+        }
+
+        private void applyImageResource(ImageView view, @DrawableRes int resId) {
+            if (mDirtyCheckEnabled) {
+                if (lastImageResources == null) lastImageResources = new SparseIntArray();
+                int index = lastImageResources.indexOfKey(view.getId());
+                if (index >= 0 && lastImageResources.valueAt(index) == resId) {
+                    mSkippedInvalidationCount++;
+                    return;
+                }
+                lastImageResources.put(view.getId(), resId);
+            }
+            // 不论是否开启脏检查，同一资源都不再重新创建Drawable
+            ResourceCache resourceCache = resourceCacheOf(view);
+            if (resourceCache.isSameDrawable(view.getDrawable(), resId)) {
+                if (mDirtyCheckEnabled) mSkippedInvalidationCount++;
+                return;
+            }
+            view.setImageDrawable(resourceCache.getDrawable(resId));
+        }
+
+        private void applyBackgroundResource(View view, @DrawableRes int resId) {
+            ResourceCache resourceCache = resourceCacheOf(view);
+            if (resourceCache.isSameDrawable(view.getBackground(), resId)) {
+                if (mDirtyCheckEnabled) mSkippedInvalidationCount++;
+                return;
+            }
+            ViewCompat.setBackground(view, resourceCache.getDrawable(resId));
+        }
+
+        // 资源按控件的context解析，android:theme、ContextThemeWrapper设置的主题覆盖才能生效
+        private ResourceCache resourceCacheOf(View view) {
+            Context context = view.getContext();
+            if (context == mContext) return mResourceCache;
+            if (context != themedContext) {
+                themedContext = context;
+                themedResourceCache = new ResourceCache(context);
+            }
+            return themedResourceCache;
+        }
+
+        // getCompoundDrawables()每次都会创建数组，只能依靠记录判断，因此与其他记录一样只在开启脏检查时生效
+        private void applyCompoundDrawable(TextView view, int side, @DrawableRes int resId) {
+            if (mDirtyCheckEnabled) {
+                if (lastCompoundResources == null) {
+                    lastCompoundResources = new SparseIntArray();
+                    lastCompoundSides = new SparseIntArray();
+                }
+                int index = lastCompoundResources.indexOfKey(view.getId());
+                if (index >= 0 && lastCompoundResources.valueAt(index) == resId
+                        && lastCompoundSides.get(view.getId()) == side) {
+                    mSkippedInvalidationCount++;
+                    return;
+                }
+                lastCompoundResources.put(view.getId(), resId);
+                lastCompoundSides.put(view.getId(), side);
+            }
+            Drawable drawable = resourceCacheOf(view).getDrawable(resId);
+            view.setCompoundDrawablesWithIntrinsicBounds(side == DRAWABLE_LEFT ? drawable : null,
+                    side == DRAWABLE_TOP ? drawable : null,
+                    side == DRAWABLE_RIGHT ? drawable : null,
+                    side == DRAWABLE_BOTTOM ? drawable : null);
+        }
+
         public RecyclerHolder bindChildClick(@IdRes int id) {
             obtainView(id).setOnClickListener(this);
             return this;
@@ -96,7 +484,34 @@ public abstract class BaseRecyclerAdapter extends RecyclerView.Adapter<BaseRecyc
          * 文本控件赋值
          */
         public RecyclerHolder setText(@IdRes int id, CharSequence text) {
-            ((TextView) obtainView(id)).setText(text);
+            applyText((TextView) obtainView(id), text);
+            return this;
+        }
+
+        /**
+         * 使用{@link #getTextLayoutCache()}中预先计算好的排版设置文字，未命中时直接设置并在后台计算，
+         * 供之后的绑定使用；带格式的文本不走缓存
+         */
+        public RecyclerHolder setPrecomputedText(@IdRes int id, CharSequence text) {
+            TextView textView = obtainView(id);
+            if (text == null || text instanceof Spanned) {
+                applyText(textView, text);
+                return this;
+            }
+            PrecomputedTextCompat.Params params = TextViewCompat.getTextMetricsParams(textView);
+            TextLayoutCache cache = getTextLayoutCache();
+            PrecomputedTextCompat precomputed = cache.get(text, params);
+            if (precomputed == null) {
+                applyText(textView, text);
+                cache.precompute(text, params);
+                return this;
+            }
+            try {
+                TextViewCompat.setPrecomputedText(textView, precomputed);
+            } catch (IllegalArgumentException e) {
+                // 排版参数在计算之后发生了变化
+                textView.setText(text);
+            }
             return this;
         }
 
@@ -106,41 +521,45 @@ public abstract class BaseRecyclerAdapter extends RecyclerView.Adapter<BaseRecyc
         }
 
         public RecyclerHolder setDrawableLeft(@IdRes int id, @DrawableRes int resId) {
-            ((TextView) obtainView(id)).setCompoundDrawablesWithIntrinsicBounds(resId, 0, 0, 0);
+            applyCompoundDrawable((TextView) obtainView(id), DRAWABLE_LEFT, resId);
             return this;
         }
 
         public RecyclerHolder setDrawableLeft(@IdRes int id, @Nullable Drawable drawable) {
+            if (lastCompoundResources != null) lastCompoundResources.delete(id);
             ((TextView) obtainView(id)).setCompoundDrawablesWithIntrinsicBounds(drawable, null, null, null);
             return this;
         }
 
         public RecyclerHolder setDrawableTop(@IdRes int id, @DrawableRes int resId) {
-            ((TextView) obtainView(id)).setCompoundDrawablesWithIntrinsicBounds(0, resId, 0, 0);
+            applyCompoundDrawable((TextView) obtainView(id), DRAWABLE_TOP, resId);
             return this;
         }
 
         public RecyclerHolder setDrawableTop(@IdRes int id, @Nullable Drawable drawable) {
+            if (lastCompoundResources != null) lastCompoundResources.delete(id);
             ((TextView) obtainView(id)).setCompoundDrawablesWithIntrinsicBounds(null, drawable, null, null);
             return this;
         }
 
         public RecyclerHolder setDrawableRight(@IdRes int id, @Nullable Drawable drawable) {
+            if (lastCompoundResources != null) lastCompoundResources.delete(id);
             ((TextView) obtainView(id)).setCompoundDrawablesWithIntrinsicBounds(null, null, drawable, null);
             return this;
         }
 
         public RecyclerHolder setDrawableRight(@IdRes int id, @DrawableRes int resId) {
-            ((TextView) obtainView(id)).setCompoundDrawablesWithIntrinsicBounds(0, 0, resId, 0);
+            applyCompoundDrawable((TextView) obtainView(id), DRAWABLE_RIGHT, resId);
             return this;
         }
 
         public RecyclerHolder setDrawableBottom(@IdRes int id, @DrawableRes int resId) {
-            ((TextView) obtainView(id)).setCompoundDrawablesWithIntrinsicBounds(0, 0, 0, resId);
+            applyCompoundDrawable((TextView) obtainView(id), DRAWABLE_BOTTOM, resId);
             return this;
         }
 
         public RecyclerHolder setDrawableBottom(@IdRes int id, @Nullable Drawable drawable) {
+            if (lastCompoundResources != null) lastCompoundResources.delete(id);
             ((TextView) obtainView(id)).setCompoundDrawablesWithIntrinsicBounds(null, null, null, drawable);
             return this;
         }
@@ -157,33 +576,53 @@ public abstract class BaseRecyclerAdapter extends RecyclerView.Adapter<BaseRecyc
 
         //可以直接引用 R.color.xxx
         public RecyclerHolder setTextColor(@IdRes int id, @ColorInt int color) {
-            ((TextView) obtainView(id)).setTextColor(color);
+            applyTextColor((TextView) obtainView(id), color);
             return this;
         }
 
         public RecyclerHolder setTextColorRes(@IdRes int id, @ColorRes int color) {
-            ((TextView) obtainView(id)).setTextColor(ContextCompat.getColor(mContext, color));
+            TextView view = obtainView(id);
+            applyTextColor(view, resourceCacheOf(view).getColor(color));
             return this;
         }
 
         public RecyclerHolder setImageResource(@IdRes int id, @DrawableRes int resId) {
-            ((ImageView) obtainView(id)).setImageResource(resId);
+            applyImageResource((ImageView) obtainView(id), resId);
             return this;
         }
 
+        /**
+         * 在后台线程按控件尺寸解码图片资源，holder被回收时取消未完成的解码，见{@link #getBitmapLoader()}
+         */
+        public RecyclerHolder setImageResourceAsync(@IdRes int id, @DrawableRes int resId) {
+            ImageView imageView = obtainView(id);
+            if (asyncImageViews == null) asyncImageViews = new ArrayList<>();
+            if (!asyncImageViews.contains(imageView)) asyncImageViews.add(imageView);
+            // 图片不再由setImageResource设置，脏检查记录失效
+            if (lastImageResources != null) lastImageResources.delete(imageView.getId());
+            getBitmapLoader().load(imageView, resId);
+            return this;
+        }
+
+        void cancelImageLoads() {
+            if (asyncImageViews == null || mBitmapLoader == null) return;
+            for (int i = 0, size = asyncImageViews.size(); i < size; i++) {
+                mBitmapLoader.cancel(asyncImageViews.get(i));
+            }
+        }
+
         public RecyclerHolder setVisibility(@IdRes int id, int visibility) {
-            obtainView(id).setVisibility(visibility);
+            applyVisibility(obtainView(id), visibility);
             return this;
         }
 
         public RecyclerHolder setVisibility(@IdRes int id, boolean isVisible) {
-            if (isVisible) obtainView(id).setVisibility(View.VISIBLE);
-            else obtainView(id).setVisibility(View.GONE);
+            applyVisibility(obtainView(id), isVisible ? View.VISIBLE : View.GONE);
             return this;
         }
 
         public RecyclerHolder setInVisibility(@IdRes int id) {
-            obtainView(id).setVisibility(View.INVISIBLE);
+            applyVisibility(obtainView(id), View.INVISIBLE);
             return this;
         }
 
@@ -193,23 +632,18 @@ public abstract class BaseRecyclerAdapter extends RecyclerView.Adapter<BaseRecyc
         }
 
         public RecyclerHolder setBackgroundColorRes(@IdRes int id, @ColorRes int color) {
-            obtainView(id).setBackgroundColor(ContextCompat.getColor(mContext, color));
+            View view = obtainView(id);
+            view.setBackgroundColor(resourceCacheOf(view).getColor(color));
             return this;
         }
 
         public RecyclerHolder setBackgroundResource(@IdRes int id, @DrawableRes int resId) {
-            obtainView(id).setBackgroundResource(resId);
+            applyBackgroundResource(obtainView(id), resId);
             return this;
         }
 
         public RecyclerHolder setChecked(@IdRes int id, boolean isChecked) {
-            if (obtainView(id) instanceof CheckBox) {
-                ((CheckBox) obtainView(id)).setChecked(isChecked);
-            } else if (obtainView(id) instanceof RadioButton) {
-                ((RadioButton) obtainView(id)).setChecked(isChecked);
-            } else {
-                ((Checkable) obtainView(id)).setChecked(isChecked);
-            }
+            ((Checkable) obtainView(id)).setChecked(isChecked);
             return this;
         }
 
@@ -245,50 +679,136 @@ public abstract class BaseRecyclerAdapter extends RecyclerView.Adapter<BaseRecyc
             return this;
         }
 
+        /**
+         * 嵌套列表已经是相同配置的LayoutManager时直接复用，不再重新创建
+         */
         public RecyclerHolder setVerticalLayoutManager(@IdRes int id) {
-            LinearLayoutManager layoutManager = new LinearLayoutManager(mContext);
-            layoutManager.setOrientation(RecyclerView.VERTICAL);
-            setLayoutManager(id, layoutManager);
-            return this;
+            return setLinearLayoutManager(id, RecyclerView.VERTICAL);
         }
 
         public RecyclerHolder setHorizontalLayoutManager(@IdRes int id) {
+            return setLinearLayoutManager(id, RecyclerView.HORIZONTAL);
+        }
+
+        private RecyclerHolder setLinearLayoutManager(@IdRes int id, int orientation) {
+            RecyclerView.LayoutManager current = ((RecyclerView) obtainView(id)).getLayoutManager();
+            if (current != null && current.getClass() == LinearLayoutManager.class) {
+                LinearLayoutManager linear = (LinearLayoutManager) current;
+                if (linear.getOrientation() == orientation && !linear.getReverseLayout()) return this;
+            }
             LinearLayoutManager layoutManager = new LinearLayoutManager(mContext);
-            layoutManager.setOrientation(RecyclerView.HORIZONTAL);
+            layoutManager.setOrientation(orientation);
             setLayoutManager(id, layoutManager);
             return this;
         }
 
         public RecyclerHolder setGridLayoutManager(@IdRes int id, int spanCount) {
-            GridLayoutManager layoutManager = new GridLayoutManager(mContext, spanCount);
-            layoutManager.setOrientation(RecyclerView.VERTICAL);
-            setLayoutManager(id, layoutManager);
-            return this;
+            return setGridLayoutManager(id, spanCount, RecyclerView.VERTICAL, false);
         }
 
         public RecyclerHolder setGridLayoutManager(@IdRes int id, int spanCount, int orientation, boolean reverseLayout) {
+            RecyclerView.LayoutManager current = ((RecyclerView) obtainView(id)).getLayoutManager();
+            if (current != null && current.getClass() == GridLayoutManager.class) {
+                GridLayoutManager grid = (GridLayoutManager) current;
+                if (grid.getSpanCount() == spanCount && grid.getOrientation() == orientation
+                        && grid.getReverseLayout() == reverseLayout) return this;
+            }
             GridLayoutManager layoutManager = new GridLayoutManager(mContext, spanCount, orientation, reverseLayout);
             setLayoutManager(id, layoutManager);
             return this;
         }
 
         public RecyclerHolder setLayoutManager(@IdRes int id, @Nullable RecyclerView.LayoutManager layoutManager) {
-            ((RecyclerView) obtainView(id)).setLayoutManager(layoutManager);
+            RecyclerView recyclerView = obtainView(id);
+            if (recyclerView.getLayoutManager() == layoutManager) return this;
+            // 移出屏幕时把子view交还共享的缓存池
+            if (layoutManager instanceof LinearLayoutManager) {
+                ((LinearLayoutManager) layoutManager).setRecycleChildrenOnDetach(true);
+            }
+            recyclerView.setLayoutManager(layoutManager);
             return this;
         }
 
+        /**
+         * 已是同一个adapter时不做处理；替换为同类型的adapter时使用swapAdapter，保留共享缓存池中的view
+         * 同一id、同类型adapter的嵌套列表共用一个缓存池，见{@link #getNestedViewPool(int, Class)}
+         */
         public RecyclerHolder setAdapter(@IdRes int id, @Nullable RecyclerView.Adapter adapter) {
-            ((RecyclerView) obtainView(id)).setAdapter(adapter);
+            RecyclerView recyclerView = obtainView(id);
+            RecyclerView.Adapter current = recyclerView.getAdapter();
+            if (current == adapter) return this;
+            if (current != null && adapter != null && current.getClass() == adapter.getClass()) {
+                recyclerView.swapAdapter(adapter, false);
+                return this;
+            }
+            // 类型不同时先按原adapter把view回收到原缓存池，再换用新类型的缓存池
+            recyclerView.setAdapter(adapter);
+            if (adapter != null) {
+                RecyclerView.RecycledViewPool pool = getNestedViewPool(id, adapter.getClass());
+                if (recyclerView.getRecycledViewPool() != pool) recyclerView.setRecycledViewPool(pool);
+            }
             return this;
         }
 
+        /**
+         * 只替换嵌套列表的数据，不替换adapter，嵌套列表的adapter须为InnerAdapter
+         * 嵌套adapter持有datas的副本，不会修改datas及之前绑定的item的数据
+         */
+        @SuppressWarnings("unchecked")
+        public <E> RecyclerHolder setNestedData(@IdRes int id, List<E> datas) {
+            RecyclerView.Adapter adapter = ((RecyclerView) obtainView(id)).getAdapter();
+            if (!(adapter instanceof InnerAdapter)) {
+                throw new IllegalStateException("setNestedData()之前须先通过setAdapter()设置InnerAdapter");
+            }
+            ((InnerAdapter<E>) adapter).replaceData(datas);
+            return this;
+        }
+
+        /**
+         * 恢复嵌套列表在key对应数据上次的滑动位置，holder被回收或绑定到其他key时自动保存
+         */
+        public RecyclerHolder restoreNestedState(@IdRes int id, @NonNull Object key) {
+            if (nestedKeys == null) nestedKeys = new SparseArray<>();
+            Object current = nestedKeys.get(id);
+            if (key.equals(current)) return this;
+            if (current != null) saveNestedState(id, current);
+            nestedKeys.put(id, key);
+            RecyclerView.LayoutManager layoutManager = ((RecyclerView) obtainView(id)).getLayoutManager();
+            if (layoutManager == null) return this;
+            Parcelable state = mNestedStates.get(key);
+            if (state != null) {
+                layoutManager.onRestoreInstanceState(state);
+            } else {
+                layoutManager.scrollToPosition(0);
+            }
+            return this;
+        }
+
+        void saveNestedStates() {
+            if (nestedKeys == null) return;
+            for (int i = 0; i < nestedKeys.size(); i++) {
+                saveNestedState(nestedKeys.keyAt(i), nestedKeys.valueAt(i));
+            }
+            nestedKeys.clear();
+        }
+
+        private void saveNestedState(@IdRes int id, Object key) {
+            RecyclerView.LayoutManager layoutManager = ((RecyclerView) obtainView(id)).getLayoutManager();
+            if (layoutManager == null) return;
+            Parcelable state = layoutManager.onSaveInstanceState();
+            if (state != null) mNestedStates.put(key, state);
+        }
+
         @Override
         public boolean onLongClick(View v) {
+            int position = getItemPosition();
+            // 删除动画过程中的点击
+            if (position == RecyclerView.NO_POSITION) return false;
             if (onItemLongClickListener != null && v.getId() == this.itemView.getId()) {
-                onItemLongClickListener.onItemLongClick(BaseRecyclerAdapter.this, this, v, getAdapterPosition());
+                onItemLongClickListener.onItemLongClick(BaseRecyclerAdapter.this, this, v, position);
                 return true;
             } else if (onItemChildLongClickListener != null && v.getId() != this.itemView.getId()) {
-                onItemChildLongClickListener.onItemChildLongClick(BaseRecyclerAdapter.this, this, v, getAdapterPosition());
+                onItemChildLongClickListener.onItemChildLongClick(BaseRecyclerAdapter.this, this, v, position);
                 return true;
             }
             return false;
@@ -296,10 +816,12 @@ public abstract class BaseRecyclerAdapter extends RecyclerView.Adapter<BaseRecyc
 
         @Override
         public void onClick(View v) {
+            int position = getItemPosition();
+            if (position == RecyclerView.NO_POSITION) return;
             if (onItemClickListener != null && v.getId() == this.itemView.getId()) {
-                onItemClickListener.onItemClick(BaseRecyclerAdapter.this, this, v, getAdapterPosition());
+                onItemClickListener.onItemClick(BaseRecyclerAdapter.this, this, v, position);
             } else if (onItemChildClickListener != null && v.getId() != this.itemView.getId()) {
-                onItemChildClickListener.onItemChildClick(BaseRecyclerAdapter.this, this, v, getAdapterPosition());
+                onItemChildClickListener.onItemChildClick(BaseRecyclerAdapter.this, this, v, position);
             }
         }
     }
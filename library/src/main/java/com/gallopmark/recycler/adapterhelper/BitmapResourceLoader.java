@@ -0,0 +1,183 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.LruCache;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.widget.ImageView;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gallopmark.recycler.R;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 图片资源的异步解码
+ * 在后台线程按目标尺寸采样解码，结果放入按字节数限制大小的LruCache，重复绑定直接命中缓存；
+ * 同一个ImageView发起新的请求或被回收时，取消其未完成的解码
+ * 不指定尺寸时按控件的尺寸解码，控件尚未布局时等到绘制前再解码
+ * 只在主线程调用
+ */
+public class BitmapResourceLoader {
+    private static final int SIZE_UNKNOWN = -1;
+
+    private final Resources mResources;
+    private final LruCache<String, Bitmap> mCache;
+    private ExecutorService mExecutor;
+
+    public BitmapResourceLoader(@NonNull Resources resources) {
+        this(resources, (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 8));
+    }
+
+    /**
+     * @param maxBytes 缓存的字节数上限
+     */
+    public BitmapResourceLoader(@NonNull Resources resources, int maxBytes) {
+        this.mResources = resources;
+        this.mCache = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    public void setExecutor(@Nullable ExecutorService executor) {
+        this.mExecutor = executor;
+    }
+
+    /**
+     * 按控件的尺寸解码；控件尚未布局且LayoutParams中没有确定的尺寸时，等到下一次绘制前再解码，
+     * 不会先按其他尺寸解码一次、布局后再按实际尺寸解码一次
+     * wrap_content的方向不限制采样
+     */
+    public void load(@NonNull ImageView view, @DrawableRes int resId) {
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        int width = targetSize(view.getWidth(), params == null ? ViewGroup.LayoutParams.MATCH_PARENT : params.width);
+        int height = targetSize(view.getHeight(), params == null ? ViewGroup.LayoutParams.MATCH_PARENT : params.height);
+        if (width != SIZE_UNKNOWN && height != SIZE_UNKNOWN) {
+            load(view, resId, width, height);
+            return;
+        }
+        cancel(view);
+        view.setImageDrawable(null);
+        PendingLoad pendingLoad = new PendingLoad(view, resId);
+        view.setTag(R.id.recycler_image_pending, pendingLoad);
+        view.getViewTreeObserver().addOnPreDrawListener(pendingLoad);
+    }
+
+    /**
+     * @param reqWidth  为0时不限制宽度
+     * @param reqHeight 为0时不限制高度
+     */
+    public void load(@NonNull final ImageView view, @DrawableRes final int resId, final int reqWidth, final int reqHeight) {
+        cancel(view);
+        final String key = resId + "_" + reqWidth + "x" + reqHeight;
+        Bitmap cached = mCache.get(key);
+        if (cached != null) {
+            view.setImageBitmap(cached);
+            return;
+        }
+        // 解码完成前不显示复用前的旧图片
+        view.setImageDrawable(null);
+        view.setTag(R.id.recycler_image_request, key);
+        ExecutorService executor = mExecutor != null ? mExecutor : AdapterExecutors.background();
+        Future<?> task = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap bitmap = decode(resId, reqWidth, reqHeight);
+                if (Thread.currentThread().isInterrupted()) return;
+                AdapterExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (bitmap != null) mCache.put(key, bitmap);
+                        if (!key.equals(view.getTag(R.id.recycler_image_request))) return;
+                        view.setTag(R.id.recycler_image_request, null);
+                        view.setTag(R.id.recycler_image_task, null);
+                        if (bitmap != null) {
+                            view.setImageBitmap(bitmap);
+                        } else {
+                            // 无法解码为位图（如vector）时退回同步设置
+                            view.setImageResource(resId);
+                        }
+                    }
+                });
+            }
+        });
+        view.setTag(R.id.recycler_image_task, task);
+    }
+
+    public void cancel(@NonNull ImageView view) {
+        Object pendingLoad = view.getTag(R.id.recycler_image_pending);
+        if (pendingLoad instanceof PendingLoad) ((PendingLoad) pendingLoad).remove();
+        Object task = view.getTag(R.id.recycler_image_task);
+        if (task instanceof Future) ((Future<?>) task).cancel(true);
+        view.setTag(R.id.recycler_image_task, null);
+        view.setTag(R.id.recycler_image_request, null);
+    }
+
+    public void clear() {
+        mCache.evictAll();
+    }
+
+    @Nullable
+    private Bitmap decode(int resId, int reqWidth, int reqHeight) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(mResources, resId, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) return null;
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, reqWidth, reqHeight);
+        options.inJustDecodeBounds = false;
+        return BitmapFactory.decodeResource(mResources, resId, options);
+    }
+
+    // 已布局时取实际尺寸，其次取LayoutParams中的固定尺寸；wrap_content返回0即不限制，其余情况需等待布局
+    private static int targetSize(int measured, int param) {
+        if (measured > 0) return measured;
+        if (param > 0) return param;
+        if (param == ViewGroup.LayoutParams.WRAP_CONTENT) return 0;
+        return SIZE_UNKNOWN;
+    }
+
+    private static int calculateInSampleSize(int width, int height, int reqWidth, int reqHeight) {
+        int inSampleSize = 1;
+        if (reqWidth <= 0 || reqHeight <= 0) return inSampleSize;
+        while (width / (inSampleSize * 2) >= reqWidth && height / (inSampleSize * 2) >= reqHeight) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+
+    /**
+     * 等待控件完成布局的解码请求，绘制前按实际尺寸发起解码
+     */
+    private class PendingLoad implements ViewTreeObserver.OnPreDrawListener {
+        private final ImageView mView;
+        private final int mResId;
+
+        PendingLoad(ImageView view, int resId) {
+            this.mView = view;
+            this.mResId = resId;
+        }
+
+        @Override
+        public boolean onPreDraw() {
+            remove();
+            load(mView, mResId, Math.max(mView.getWidth(), 0), Math.max(mView.getHeight(), 0));
+            return true;
+        }
+
+        void remove() {
+            mView.setTag(R.id.recycler_image_pending, null);
+            // 控件attach前后ViewTreeObserver会变化，以当前的为准
+            ViewTreeObserver observer = mView.getViewTreeObserver();
+            if (observer.isAlive()) observer.removeOnPreDrawListener(this);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * 字段级局部刷新的payload，按位记录发生变化的字段
+ * <pre>
+ * static final int FIELD_TITLE = 1;
+ * static final int FIELD_LIKES = 1 << 1;
+ *
+ * //生成payload
+ * ChangeSet changeSet = new ChangeSet()
+ *         .compare(FIELD_TITLE, old.title, new.title)
+ *         .compare(FIELD_LIKES, old.likes, new.likes);
+ * adapter.updateItem(position, item, changeSet);
+ *
+ * //绑定时只刷新变化的控件，payloads为空（完整绑定）时所有字段都视为变化
+ * int changed = ChangeSet.flagsOf(payloads);
+ * if (ChangeSet.contains(changed, FIELD_LIKES)) holder.setText(R.id.tvLikes, ...);
+ * </pre>
+ */
+public final class ChangeSet {
+    public static final int ALL = 0xFFFFFFFF;
+
+    private int mFlags;
+
+    public ChangeSet() {
+    }
+
+    public ChangeSet(int flags) {
+        this.mFlags = flags;
+    }
+
+    public ChangeSet add(int field) {
+        mFlags |= field;
+        return this;
+    }
+
+    public ChangeSet compare(int field, @Nullable Object oldValue, @Nullable Object newValue) {
+        if (oldValue == null ? newValue != null : !oldValue.equals(newValue)) mFlags |= field;
+        return this;
+    }
+
+    public ChangeSet compare(int field, int oldValue, int newValue) {
+        if (oldValue != newValue) mFlags |= field;
+        return this;
+    }
+
+    public ChangeSet compare(int field, long oldValue, long newValue) {
+        if (oldValue != newValue) mFlags |= field;
+        return this;
+    }
+
+    public ChangeSet compare(int field, boolean oldValue, boolean newValue) {
+        if (oldValue != newValue) mFlags |= field;
+        return this;
+    }
+
+    public int getFlags() {
+        return mFlags;
+    }
+
+    public boolean isEmpty() {
+        return mFlags == 0;
+    }
+
+    /**
+     * 合并onBindViewHolder收到的payloads
+     * payloads为空或含有非ChangeSet的payload时需要完整绑定，返回{@link #ALL}
+     */
+    public static int flagsOf(@NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) return ALL;
+        int flags = 0;
+        for (int i = 0, size = payloads.size(); i < size; i++) {
+            Object payload = payloads.get(i);
+            if (!(payload instanceof ChangeSet)) return ALL;
+            flags |= ((ChangeSet) payload).mFlags;
+        }
+        return flags;
+    }
+
+    public static boolean contains(int flags, int field) {
+        return (flags & field) != 0;
+    }
+}
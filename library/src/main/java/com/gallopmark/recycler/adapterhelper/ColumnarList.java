@@ -0,0 +1,340 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.RandomAccess;
+
+/**
+ * 按列存储的数据集合，适用于条数巨大、字段简单的列表
+ * 每一列是一个基本类型数组，字符串列只保存字符串池中的下标，每行不再对应一个对象
+ * 可直接作为InnerAdapter的数据：InnerAdapter&lt;ColumnarList.Row&gt;
+ * <p>
+ * 注意：{@link #get(int)}返回的是同一个可复用的游标，只在下一次get之前有效，不能保存；
+ * 因此不能配合submitList、filter等需要保存数据快照的功能使用，需要保存时用{@link #getRow(int)}
+ * indexOf、contains按游标所属的集合和位置比较，removeItem(getItem(position))等按数据查找的方法可以正常使用
+ * 字符串池只增不减：被覆盖或删除的行用过的字符串直到{@link #clear()}才释放，
+ * 频繁修改时可用{@link #copy()}得到只包含在用字符串的副本
+ * <pre>
+ * ColumnarList list = new ColumnarList(1, 1, 1);
+ * int row = list.appendRow();
+ * list.setLong(row, COLUMN_TIME, time);
+ * list.setInt(row, COLUMN_LEVEL, level);
+ * list.setString(row, COLUMN_MESSAGE, message);
+ *
+ * public void onBindHolder(RecyclerHolder holder, ColumnarList.Row row, int position) {
+ *     holder.setText(R.id.tvMessage, row.getString(COLUMN_MESSAGE));
+ * }
+ * </pre>
+ */
+public class ColumnarList extends AbstractList<ColumnarList.Row> implements RandomAccess {
+    private static final int NO_STRING = -1;
+
+    private final long[][] mLongColumns;
+    private final int[][] mIntColumns;
+    private final int[][] mStringColumns;
+    private final ArrayList<String> mStringPool = new ArrayList<>();
+    private final HashMap<String, Integer> mStringIds = new HashMap<>();
+    private final Row mCursor = new Row();
+    private int mSize;
+    private int mCapacity;
+
+    public ColumnarList(int longColumnCount, int intColumnCount, int stringColumnCount) {
+        this(longColumnCount, intColumnCount, stringColumnCount, 16);
+    }
+
+    public ColumnarList(int longColumnCount, int intColumnCount, int stringColumnCount, int initialCapacity) {
+        mCapacity = Math.max(initialCapacity, 1);
+        mLongColumns = new long[longColumnCount][mCapacity];
+        mIntColumns = new int[intColumnCount][mCapacity];
+        mStringColumns = new int[stringColumnCount][mCapacity];
+    }
+
+    /**
+     * 在末尾追加一行，各列初始为0或null
+     *
+     * @return 新行的位置
+     */
+    public int appendRow() {
+        ensureCapacity(mSize + 1);
+        int row = mSize++;
+        clearRow(row);
+        modCount++;
+        return row;
+    }
+
+    public void setLong(int row, int column, long value) {
+        checkRow(row);
+        mLongColumns[column][row] = value;
+    }
+
+    public void setInt(int row, int column, int value) {
+        checkRow(row);
+        mIntColumns[column][row] = value;
+    }
+
+    public void setString(int row, int column, @Nullable String value) {
+        checkRow(row);
+        mStringColumns[column][row] = internString(value);
+    }
+
+    public long getLong(int row, int column) {
+        checkRow(row);
+        return mLongColumns[column][row];
+    }
+
+    public int getInt(int row, int column) {
+        checkRow(row);
+        return mIntColumns[column][row];
+    }
+
+    @Nullable
+    public String getString(int row, int column) {
+        checkRow(row);
+        int id = mStringColumns[column][row];
+        return id == NO_STRING ? null : mStringPool.get(id);
+    }
+
+    /**
+     * 返回定位到index的游标，游标是复用的同一个对象
+     */
+    @Override
+    public Row get(int index) {
+        checkRow(index);
+        mCursor.mPosition = index;
+        return mCursor;
+    }
+
+    /**
+     * 返回固定指向index的新游标，可以保存，行被移动或删除后指向的数据随之改变
+     */
+    @NonNull
+    public Row getRow(int index) {
+        checkRow(index);
+        Row row = new Row();
+        row.mPosition = index;
+        return row;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * 游标属于本集合时返回其位置，不比较各列的值
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Row)) return -1;
+        Row row = (Row) o;
+        if (row.getOwner() != this || row.mPosition >= mSize) return -1;
+        return row.mPosition;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    // 默认实现通过迭代器查找，迭代时会移动游标本身
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * 字符串池中的字符串数，包括已不再使用的，可据此决定是否{@link #copy()}
+     */
+    public int getStringPoolSize() {
+        return mStringPool.size();
+    }
+
+    /**
+     * 复制全部行到新的集合，字符串池只保留在用的字符串
+     */
+    @NonNull
+    public ColumnarList copy() {
+        ColumnarList copy = new ColumnarList(mLongColumns.length, mIntColumns.length, mStringColumns.length, mSize);
+        copy.mSize = mSize;
+        for (int row = 0; row < mSize; row++) {
+            copy.copyRow(this, row, row);
+        }
+        return copy;
+    }
+
+    /**
+     * 复制row各列的值插入到index位置，row可以来自相同结构的其他ColumnarList
+     */
+    @Override
+    public void add(int index, @NonNull Row row) {
+        if (index < 0 || index > mSize) throw new IndexOutOfBoundsException("index: " + index + ", size: " + mSize);
+        ColumnarList source = row.getOwner();
+        checkSchema(source);
+        int sourcePosition = row.mPosition;
+        ensureCapacity(mSize + 1);
+        shift(index, mSize, index + 1);
+        // 来自本集合且位于插入位置之后的行已被后移
+        if (source == this && sourcePosition >= index) sourcePosition++;
+        mSize++;
+        copyRow(source, sourcePosition, index);
+        modCount++;
+    }
+
+    /**
+     * 复制row各列的值覆盖index位置
+     *
+     * @return 总是返回null，原数据已被覆盖
+     */
+    @Override
+    public Row set(int index, @NonNull Row row) {
+        checkRow(index);
+        ColumnarList source = row.getOwner();
+        checkSchema(source);
+        copyRow(source, row.mPosition, index);
+        return null;
+    }
+
+    /**
+     * @return 总是返回null，被删除的行不再可读
+     */
+    @Override
+    public Row remove(int index) {
+        checkRow(index);
+        shift(index + 1, mSize, index);
+        mSize--;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        mSize = 0;
+        mStringPool.clear();
+        mStringIds.clear();
+        modCount++;
+    }
+
+    private int internString(@Nullable String value) {
+        if (value == null) return NO_STRING;
+        Integer id = mStringIds.get(value);
+        if (id != null) return id;
+        int newId = mStringPool.size();
+        mStringPool.add(value);
+        mStringIds.put(value, newId);
+        return newId;
+    }
+
+    private void copyRow(ColumnarList source, int from, int to) {
+        for (int c = 0; c < mLongColumns.length; c++) {
+            mLongColumns[c][to] = source.mLongColumns[c][from];
+        }
+        for (int c = 0; c < mIntColumns.length; c++) {
+            mIntColumns[c][to] = source.mIntColumns[c][from];
+        }
+        for (int c = 0; c < mStringColumns.length; c++) {
+            int id = source.mStringColumns[c][from];
+            if (source != this && id != NO_STRING) id = internString(source.mStringPool.get(id));
+            mStringColumns[c][to] = id;
+        }
+    }
+
+    private void clearRow(int row) {
+        for (long[] column : mLongColumns) {
+            column[row] = 0L;
+        }
+        for (int[] column : mIntColumns) {
+            column[row] = 0;
+        }
+        for (int[] column : mStringColumns) {
+            column[row] = NO_STRING;
+        }
+    }
+
+    // 把[from, to)区间的行整体移动到dest开始的位置
+    private void shift(int from, int to, int dest) {
+        int length = to - from;
+        if (length <= 0) return;
+        for (long[] column : mLongColumns) {
+            System.arraycopy(column, from, column, dest, length);
+        }
+        for (int[] column : mIntColumns) {
+            System.arraycopy(column, from, column, dest, length);
+        }
+        for (int[] column : mStringColumns) {
+            System.arraycopy(column, from, column, dest, length);
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= mCapacity) return;
+        int capacity = Math.max(minCapacity, mCapacity + (mCapacity >> 1));
+        for (int c = 0; c < mLongColumns.length; c++) {
+            long[] column = new long[capacity];
+            System.arraycopy(mLongColumns[c], 0, column, 0, mSize);
+            mLongColumns[c] = column;
+        }
+        for (int c = 0; c < mIntColumns.length; c++) {
+            int[] column = new int[capacity];
+            System.arraycopy(mIntColumns[c], 0, column, 0, mSize);
+            mIntColumns[c] = column;
+        }
+        for (int c = 0; c < mStringColumns.length; c++) {
+            int[] column = new int[capacity];
+            System.arraycopy(mStringColumns[c], 0, column, 0, mSize);
+            mStringColumns[c] = column;
+        }
+        mCapacity = capacity;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= mSize) throw new IndexOutOfBoundsException("row: " + row + ", size: " + mSize);
+    }
+
+    private void checkSchema(ColumnarList other) {
+        if (other.mLongColumns.length != mLongColumns.length
+                || other.mIntColumns.length != mIntColumns.length
+                || other.mStringColumns.length != mStringColumns.length) {
+            throw new IllegalArgumentException("列结构不一致");
+        }
+    }
+
+    /**
+     * 指向某一行的游标
+     */
+    public class Row {
+        private int mPosition;
+
+        public int getPosition() {
+            return mPosition;
+        }
+
+        public long getLong(int column) {
+            return mLongColumns[column][mPosition];
+        }
+
+        public int getInt(int column) {
+            return mIntColumns[column][mPosition];
+        }
+
+        @Nullable
+        public String getString(int column) {
+            return ColumnarList.this.getString(mPosition, column);
+        }
+
+        ColumnarList getOwner() {
+            return ColumnarList.this;
+        }
+    }
+}
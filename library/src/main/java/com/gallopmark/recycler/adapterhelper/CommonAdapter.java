@@ -1,13 +1,19 @@
 package com.gallopmark.recycler.adapterhelper;
 
 import android.content.Context;
+import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.gallopmark.recycler.RecyclerTrace;
 
 import java.util.List;
 
 public abstract class CommonAdapter<T> extends InnerAdapter<T> {
+    private PreInflater mPreInflater;
 
     public CommonAdapter(Context context, List<T> mDatas) {
         super(context, mDatas);
@@ -16,7 +22,48 @@ public abstract class CommonAdapter<T> extends InnerAdapter<T> {
     @NonNull
     @Override
     public RecyclerHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        return new RecyclerHolder(mLayoutInflater.inflate(bindView(viewType), parent, false));
+        if (RecyclerTrace.ENABLED) RecyclerTrace.begin(RecyclerTrace.createSection(viewType));
+        long start = metricsStart();
+        RecyclerHolder holder = inflateHolder(parent, viewType);
+        recordCreate(viewType, start);
+        if (RecyclerTrace.ENABLED) RecyclerTrace.end();
+        return holder;
+    }
+
+    private RecyclerHolder inflateHolder(ViewGroup parent, int viewType) {
+        if (mPreInflater != null) {
+            View view = mPreInflater.pollStagedView(viewType);
+            if (view != null) {
+                RecyclerHolder holder = createHolder(view, viewType);
+                holder.mPreInflated = true;
+                return holder;
+            }
+            mPreInflater.onMiss();
+        }
+        return createHolder(mLayoutInflater.inflate(bindView(viewType), parent, false), viewType);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerHolder holder, int position, @NonNull List<Object> payloads) {
+        if (mPreInflater != null) mPreInflater.onBind(holder);
+        super.onBindViewHolder(holder, position, payloads);
+    }
+
+    /**
+     * 在后台线程预先创建count个viewType类型的holder，放入recyclerView的缓存池
+     * 需在recyclerView设置了本Adapter（或包裹本Adapter的WrapperRecyclerView）之后调用
+     */
+    public void preInflate(@NonNull RecyclerView recyclerView, int viewType, int count) {
+        if (mPreInflater == null) mPreInflater = new PreInflater();
+        mPreInflater.preInflate(this, recyclerView, viewType, bindView(viewType), count);
+    }
+
+    /**
+     * 预加载的统计数据，未调用过{@link #preInflate}时为null
+     */
+    @Nullable
+    public PreInflater getPreInflater() {
+        return mPreInflater;
     }
 
     protected abstract int bindView(int viewType);
@@ -1,10 +1,26 @@
 package com.gallopmark.recycler.adapterhelper;
 
 import android.content.Context;
+import android.text.Spanned;
+import android.view.View;
+import android.widget.TextView;
 
+import androidx.annotation.IdRes;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.BatchingListUpdateCallback;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
 
+import com.gallopmark.recycler.RecyclerTrace;
+
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Created by gallop on 2019/7/12.
@@ -12,49 +28,352 @@ import java.util.List;
  */
 public abstract class InnerAdapter<T> extends BaseRecyclerAdapter {
     protected List<T> mDatas;
+    private DiffUtil.ItemCallback<T> mItemCallback;
+    private Executor mDiffExecutor;
+    private int mMaxScheduledGeneration;
+    private List<T> mPendingList;
+    private boolean mDiffOnRefresh;
+    private ItemFilter<T> mItemFilter;
+    private Executor mFilterExecutor;
+    private volatile int mFilterGeneration;
+    private List<T> mUnfilteredDatas;
+    private String mLastQuery;
+    private int mPrecomputeTextId;
+    private int mPrecomputeDistance;
+    private TextProvider<T> mPrecomputeTextProvider;
+    private PrefetchController<T> mPrefetchController;
+    private RecyclerView mRecyclerView;
+    private List<T> mLastFilterResult;
+    private int mBatchDepth;
+    private boolean mBatchInvalidated;
+    private BatchingListUpdateCallback mBatchCallback;
+    // 批量修改期间计算完成的submitList结果
+    private Runnable mDeferredLatch;
+    private final ItemIndexes<T> mIndexes = new ItemIndexes<>();
 
     public InnerAdapter(Context context, List<T> mDatas) {
         super(context);
         this.mDatas = mDatas;
     }
 
+    /**
+     * 设置submitList比较数据所用的回调，为null时按equals比较
+     */
+    public void setItemCallback(@Nullable DiffUtil.ItemCallback<T> itemCallback) {
+        this.mItemCallback = itemCallback;
+    }
+
+    /**
+     * 设置计算差异所用的线程池，默认为{@link AdapterExecutors#background()}
+     */
+    public void setDiffExecutor(@Nullable Executor executor) {
+        this.mDiffExecutor = executor;
+    }
+
+    /**
+     * 在后台线程计算新旧列表的差异，回到主线程后只刷新变化的部分
+     * 计算过程中再次提交时，之前的结果将被丢弃
+     * 计算过程中调用bindData刷新、clearData等整体替换数据的方法时，结果同样被丢弃；
+     * 调用addItem、removeItem等单条修改的方法时，先整体应用提交的列表，修改在其基础上进行
+     * 数据比较优先使用{@link #setItemCallback}，其次按{@link #setKeyExtractor}的key判断是否同一条数据，都未设置时按equals比较
+     */
+    public void submitList(@Nullable List<T> newList) {
+        final int runGeneration = ++mMaxScheduledGeneration;
+        mPendingList = null;
+        if (newList == null || newList.isEmpty()) {
+            int count = mDatas.size();
+            if (count == 0) return;
+            mDatas.clear();
+            onItemsReset();
+            dispatchRemoved(0, count);
+            return;
+        }
+        if (mDatas.isEmpty()) {
+            mDatas.addAll(newList);
+            onItemsReset();
+            dispatchInserted(0, newList.size());
+            return;
+        }
+        final List<T> oldList = new ArrayList<>(mDatas);
+        final List<T> snapshot = new ArrayList<>(newList);
+        final int dataVersion = mIndexes.getVersion();
+        final DiffUtil.ItemCallback<T> itemCallback = mItemCallback;
+        final ItemKeyIndex<T> keyIndex = mIndexes.getKeyIndex();
+        mPendingList = snapshot;
+        Executor executor = mDiffExecutor != null ? mDiffExecutor : AdapterExecutors.background();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                    @Override
+                    public int getOldListSize() {
+                        return oldList.size();
+                    }
+
+                    @Override
+                    public int getNewListSize() {
+                        return snapshot.size();
+                    }
+
+                    @Override
+                    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                        T oldItem = oldList.get(oldItemPosition);
+                        T newItem = snapshot.get(newItemPosition);
+                        if (oldItem == null || newItem == null) return oldItem == newItem;
+                        if (itemCallback != null) return itemCallback.areItemsTheSame(oldItem, newItem);
+                        if (keyIndex != null) return keyIndex.keyOf(oldItem).equals(keyIndex.keyOf(newItem));
+                        return oldItem.equals(newItem);
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                        T oldItem = oldList.get(oldItemPosition);
+                        T newItem = snapshot.get(newItemPosition);
+                        if (oldItem == null || newItem == null) return oldItem == newItem;
+                        if (itemCallback != null) return itemCallback.areContentsTheSame(oldItem, newItem);
+                        return keyIndex == null || oldItem.equals(newItem);
+                    }
+
+                    @Nullable
+                    @Override
+                    public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+                        T oldItem = oldList.get(oldItemPosition);
+                        T newItem = snapshot.get(newItemPosition);
+                        if (itemCallback == null || oldItem == null || newItem == null) return null;
+                        return itemCallback.getChangePayload(oldItem, newItem);
+                    }
+                });
+                AdapterExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mMaxScheduledGeneration != runGeneration) return;
+                        // 批量修改期间不能直接刷新，等commitBatch之后再应用
+                        if (mBatchCallback != null) {
+                            mDeferredLatch = this;
+                            return;
+                        }
+                        latchList(snapshot, result, dataVersion);
+                    }
+                });
+            }
+        });
+    }
+
+    private void latchList(List<T> newList, DiffUtil.DiffResult result, int dataVersion) {
+        mPendingList = null;
+        boolean modified = dataVersion != mIndexes.getVersion();
+        mDatas.clear();
+        mDatas.addAll(newList);
+        onItemsReset();
+        // 计算期间数据被其他方法修改过，差异结果已不可靠
+        if (modified) {
+            notifyDataSetChanged();
+        } else {
+            result.dispatchUpdatesTo(this);
+        }
+    }
+
+    public void setItemFilter(@Nullable ItemFilter<T> itemFilter) {
+        this.mItemFilter = itemFilter;
+    }
+
+    /**
+     * 设置过滤所用的线程池，默认为{@link AdapterExecutors#background()}
+     */
+    public void setFilterExecutor(@Nullable Executor executor) {
+        this.mFilterExecutor = executor;
+    }
+
+    /**
+     * 在后台线程按{@link ItemFilter}过滤数据，结果通过{@link #submitList(List)}刷新
+     * 新的过滤请求会取消未完成的过滤；新条件只是在上次条件上收窄时（见{@link #isNarrowing}），
+     * 直接在上次的结果中过滤
+     * 过滤期间通过addItem等方法修改的数据，在{@link #clearFilter()}后不会保留
+     *
+     * @param query 为空时取消过滤，恢复全部数据
+     */
+    public void filter(@Nullable CharSequence query) {
+        if (mItemFilter == null) {
+            throw new IllegalStateException("filter()之前必须先调用setItemFilter()");
+        }
+        final int runGeneration = ++mFilterGeneration;
+        if (query == null || query.length() == 0) {
+            if (mUnfilteredDatas != null) {
+                List<T> unfiltered = mUnfilteredDatas;
+                mUnfilteredDatas = null;
+                mLastQuery = null;
+                mLastFilterResult = null;
+                submitList(unfiltered);
+            }
+            return;
+        }
+        if (mUnfilteredDatas == null) {
+            mUnfilteredDatas = new ArrayList<>(mDatas);
+        }
+        final String queryString = query.toString();
+        final List<T> source = mLastQuery != null && mLastFilterResult != null && isNarrowing(mLastQuery, queryString)
+                ? mLastFilterResult : mUnfilteredDatas;
+        final ItemFilter<T> itemFilter = mItemFilter;
+        Executor executor = mFilterExecutor != null ? mFilterExecutor : AdapterExecutors.background();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<T> result = new ArrayList<>();
+                for (int i = 0, size = source.size(); i < size; i++) {
+                    // 有新的过滤请求时放弃本次过滤
+                    if ((i & 0xFF) == 0 && runGeneration != mFilterGeneration) return;
+                    T t = source.get(i);
+                    if (t != null && itemFilter.accept(t, queryString)) result.add(t);
+                }
+                AdapterExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (runGeneration != mFilterGeneration) return;
+                        mLastQuery = queryString;
+                        mLastFilterResult = result;
+                        submitList(result);
+                    }
+                });
+            }
+        });
+    }
+
+    public void clearFilter() {
+        filter(null);
+    }
+
+    public boolean isFiltering() {
+        return mUnfilteredDatas != null;
+    }
+
+    /**
+     * 新的过滤条件是否只是在上次条件上收窄，默认在上次条件后追加字符即视为收窄
+     * 过滤规则不满足该前提时需要重写
+     */
+    protected boolean isNarrowing(@NonNull String lastQuery, @NonNull String query) {
+        return query.startsWith(lastQuery);
+    }
+
     @Override
     public T getItem(int position) {
         return mDatas.get(position);
     }
 
+    /**
+     * @param isRefresh 为true时替换全部数据，开启{@link #setDiffOnRefresh(boolean)}后通过差异计算刷新；
+     *                  为false时追加到末尾，只通知新增的范围
+     */
     public void bindData(boolean isRefresh, List<T> datas) {
         if (datas == null) return;
-        if (isRefresh) mDatas.clear();
+        if (isRefresh) {
+            if (mDiffOnRefresh) {
+                submitList(datas);
+                return;
+            }
+            cancelPendingList();
+            mDatas.clear();
+            mDatas.addAll(datas);
+            onItemsReset();
+            dispatchDataSetChanged();
+            return;
+        }
+        if (datas.isEmpty()) return;
+        if (mPendingList != null) {
+            // 差异计算尚未完成，追加到待提交的列表后面，否则会被计算结果覆盖
+            List<T> newList = new ArrayList<>(mPendingList.size() + datas.size());
+            newList.addAll(mPendingList);
+            newList.addAll(datas);
+            submitList(newList);
+            return;
+        }
+        int positionStart = mDatas.size();
         mDatas.addAll(datas);
-        notifyDataSetChanged();
+        onItemsInserted(positionStart, datas.size());
+        dispatchInserted(positionStart, datas.size());
+    }
+
+    /**
+     * 替换为datas的副本并整体刷新，之前持有的列表不会被修改
+     * 嵌套列表在不同item间切换数据时使用，避免bindData清空上一个item的数据
+     */
+    public void replaceData(@Nullable List<T> datas) {
+        cancelPendingList();
+        mDatas = copyOf(datas);
+        onItemsReset();
+        dispatchDataSetChanged();
+    }
+
+    /**
+     * 丢弃未完成的差异计算，数据被整体替换后计算结果已经过时
+     */
+    private void cancelPendingList() {
+        mMaxScheduledGeneration++;
+        mPendingList = null;
+        mDeferredLatch = null;
+    }
+
+    /**
+     * 差异计算尚未完成时直接应用待提交的列表并整体刷新，之后的单条修改在其基础上进行，
+     * 否则会被计算结果覆盖
+     */
+    private void flushPendingList() {
+        if (mPendingList == null) return;
+        List<T> pendingList = mPendingList;
+        cancelPendingList();
+        mDatas.clear();
+        mDatas.addAll(pendingList);
+        onItemsReset();
+        dispatchDataSetChanged();
+    }
+
+    // ColumnarList的元素是复用的游标，不能逐个复制到ArrayList中
+    @SuppressWarnings("unchecked")
+    private static <E> List<E> copyOf(@Nullable List<E> datas) {
+        if (datas == null) return new ArrayList<E>();
+        if (datas instanceof ColumnarList) return (List<E>) ((ColumnarList) datas).copy();
+        return new ArrayList<>(datas);
+    }
+
+    /**
+     * 设置bindData刷新时是否通过差异计算只刷新变化的部分，默认false
+     * 数据的比较规则见{@link #submitList(List)}
+     */
+    public void setDiffOnRefresh(boolean diffOnRefresh) {
+        this.mDiffOnRefresh = diffOnRefresh;
     }
 
     public void clearData() {
+        cancelPendingList();
         mDatas.clear();
-        notifyDataSetChanged();
+        onItemsReset();
+        dispatchDataSetChanged();
     }
 
     public boolean addItem(int position, T t) {
         if (t == null) return false;
+        flushPendingList();
         if (position < 0 || position > mDatas.size()) return false;
-        if (mDatas.contains(t)) return false;
+        if (containsItem(t)) return false;
         mDatas.add(position, t);
-        notifyItemInserted(position);
+        onItemsInserted(position, 1);
+        dispatchInserted(position, 1);
         return true;
     }
 
     public boolean addItems(int position, List<T> datas) {
         if (datas == null) return false;
-        if (mDatas.containsAll(datas)) return false;
+        flushPendingList();
+        if (containsAllItems(datas)) return false;
         mDatas.addAll(position, datas);
-        notifyItemRangeInserted(position, datas.size());
+        onItemsInserted(position, datas.size());
+        dispatchInserted(position, datas.size());
         return true;
     }
 
     public boolean addItems(List<T> datas) {
         if (datas == null) return false;
-        if (mDatas.containsAll(datas)) return false;
+        flushPendingList();
+        if (containsAllItems(datas)) return false;
         mDatas.addAll(datas);
         int positionStart;
         if (getItemCount() - datas.size() >= 0) {
@@ -62,70 +381,358 @@ public abstract class InnerAdapter<T> extends BaseRecyclerAdapter {
         } else {
             positionStart = 0;
         }
-        notifyItemRangeInserted(positionStart, datas.size());
+        onItemsInserted(positionStart, datas.size());
+        dispatchInserted(positionStart, datas.size());
         return true;
     }
 
     public boolean addItem(T t) {
         if (t == null) return false;
-        if (mDatas.contains(t)) return false;
+        flushPendingList();
+        if (containsItem(t)) return false;
         boolean b = mDatas.add(t);
-        notifyItemInserted(mDatas.size() - 1);
+        onItemsInserted(mDatas.size() - 1, 1);
+        dispatchInserted(mDatas.size() - 1, 1);
         return b;
     }
 
     public boolean updateItem(int position) {
         if (position < 0 || position >= mDatas.size()) return false;
-        notifyItemChanged(position);
+        dispatchChanged(position, null);
         return true;
     }
 
     public boolean updateItem(T t) {
         if (t == null) return false;
-        int index = mDatas.indexOf(t);
+        flushPendingList();
+        int index = indexOfItem(t);
         if (index >= 0) {
-            mDatas.set(index, t);
-            notifyItemChanged(index);
+            T old = mDatas.set(index, t);
+            onItemReplaced(old, t, index);
+            dispatchChanged(index, null);
             return true;
         }
         return false;
     }
 
     public boolean updateItem(int position, T t) {
+        flushPendingList();
+        if (position < 0 || position >= mDatas.size()) return false;
+        if (t == null) return false;
+        T old = mDatas.set(position, t);
+        onItemReplaced(old, t, position);
+        dispatchChanged(position, null);
+        return true;
+    }
+
+    /**
+     * 局部刷新，payload会传到{@link #onBindHolder(RecyclerHolder, Object, int, List)}
+     */
+    public boolean updateItem(int position, T t, @Nullable Object payload) {
+        flushPendingList();
         if (position < 0 || position >= mDatas.size()) return false;
         if (t == null) return false;
-        mDatas.set(position, t);
-        notifyItemChanged(position);
+        T old = mDatas.set(position, t);
+        onItemReplaced(old, t, position);
+        dispatchChanged(position, payload);
         return true;
     }
 
     public boolean removeItem(int position) {
+        flushPendingList();
         if (position < 0 || position >= mDatas.size()) return false;
-        mDatas.remove(position);
-        notifyItemRemoved(position);
+        T removed = mDatas.remove(position);
+        onItemRemoved(removed, position);
+        dispatchRemoved(position, 1);
         return true;
     }
 
     public boolean removeItem(T t) {
         if (t == null) return false;
-        int index = mDatas.indexOf(t);
+        flushPendingList();
+        int index = indexOfItem(t);
         if (index >= 0) {
-            mDatas.remove(index);
-            notifyItemRemoved(index);
+            T removed = mDatas.remove(index);
+            onItemRemoved(removed, index);
+            dispatchRemoved(index, 1);
             return true;
         }
         return false;
     }
 
+    /**
+     * 开始批量修改，直到对应的{@link #commitBatch()}之前，各修改方法的刷新通知只做记录
+     * 可嵌套调用，以最外层的commitBatch为准
+     */
+    public void beginBatch() {
+        if (mBatchDepth++ == 0) {
+            mBatchCallback = new BatchingListUpdateCallback(new AdapterListUpdateCallback(this));
+            mBatchInvalidated = false;
+        }
+    }
+
+    /**
+     * 提交批量修改，连续的同类操作合并为一次范围通知后统一发出
+     */
+    public void commitBatch() {
+        if (mBatchDepth == 0) {
+            throw new IllegalStateException("commitBatch()之前必须先调用beginBatch()");
+        }
+        if (--mBatchDepth > 0) return;
+        BatchingListUpdateCallback callback = mBatchCallback;
+        mBatchCallback = null;
+        if (mBatchInvalidated) {
+            notifyDataSetChanged();
+        } else {
+            callback.dispatchLastEvent();
+        }
+        Runnable deferredLatch = mDeferredLatch;
+        mDeferredLatch = null;
+        if (deferredLatch != null) deferredLatch.run();
+    }
+
+    public boolean isInBatch() {
+        return mBatchDepth > 0;
+    }
+
+    private void dispatchInserted(int position, int count) {
+        if (mBatchCallback == null) {
+            notifyItemRangeInserted(position, count);
+        } else if (!mBatchInvalidated) {
+            mBatchCallback.onInserted(position, count);
+        }
+    }
+
+    private void dispatchRemoved(int position, int count) {
+        if (mBatchCallback == null) {
+            notifyItemRangeRemoved(position, count);
+        } else if (!mBatchInvalidated) {
+            mBatchCallback.onRemoved(position, count);
+        }
+    }
+
+    private void dispatchChanged(int position, @Nullable Object payload) {
+        if (mBatchCallback == null) {
+            notifyItemChanged(position, payload);
+        } else if (!mBatchInvalidated) {
+            mBatchCallback.onChanged(position, 1, payload);
+        }
+    }
+
+    // 批量修改中出现整体刷新时，之前记录的范围通知都没有意义了
+    private void dispatchDataSetChanged() {
+        if (mBatchCallback == null) {
+            notifyDataSetChanged();
+        } else {
+            mBatchInvalidated = true;
+        }
+    }
+
+    /**
+     * 设置数据的唯一key，设置后查重及按数据查找位置都走哈希索引
+     * 为null时退回到equals线性查找
+     */
+    public void setKeyExtractor(@Nullable final KeyExtractor<T> keyExtractor) {
+        mIndexes.setKeyIndex(keyExtractor == null ? null : new ItemKeyIndex<T>() {
+            @Override
+            Object keyOf(T t) {
+                return keyExtractor.getKey(t);
+            }
+        });
+    }
+
+    /**
+     * 直接修改mDatas后调用，下次查找时重建索引
+     */
+    public void invalidateIndex() {
+        mIndexes.invalidate();
+    }
+
+    public boolean containsItem(T t) {
+        if (t == null) return false;
+        return mIndexes.contains(mDatas, t);
+    }
+
+    public int indexOfItem(T t) {
+        if (t == null) return -1;
+        return mIndexes.indexOf(mDatas, t);
+    }
+
+    /**
+     * 设置stable id，需在setAdapter之前调用
+     */
+    public void setStableIdProvider(@Nullable final StableIdProvider<T> idProvider) {
+        setHasStableIds(idProvider != null);
+        mIndexes.setStableIdIndex(idProvider == null ? null : new StableIdIndex<T>() {
+            @Override
+            long idOf(T t) {
+                return idProvider.getItemId(t);
+            }
+        });
+    }
+
+    @Override
+    public long getItemId(int position) {
+        if (!mIndexes.hasStableIds()) return super.getItemId(position);
+        T t = mDatas.get(position);
+        return t == null ? RecyclerView.NO_ID : mIndexes.idOf(t);
+    }
+
+    /**
+     * 根据stable id查找位置，找不到返回-1
+     */
+    public int findPositionById(long id) {
+        return mIndexes.findPosition(mDatas, id);
+    }
+
+    private boolean containsAllItems(List<T> datas) {
+        return mIndexes.containsAll(mDatas, datas);
+    }
+
+    private void onItemsInserted(int position, int count) {
+        if (mPrefetchController != null) mPrefetchController.reset();
+        mIndexes.onInserted(mDatas, position, count);
+    }
+
+    private void onItemRemoved(T removed, int position) {
+        if (mPrefetchController != null) mPrefetchController.reset();
+        mIndexes.onRemoved(removed, position);
+    }
+
+    private void onItemReplaced(T oldItem, T newItem, int position) {
+        mIndexes.onReplaced(oldItem, newItem, position);
+    }
+
+    private void onItemsReset() {
+        if (mPrefetchController != null) mPrefetchController.reset();
+        mIndexes.onReset();
+    }
+
     @Override
     public void onBindViewHolder(@NonNull RecyclerHolder holder, int position) {
         onBindHolder(holder, mDatas.get(position), position);
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerHolder holder, int position, @NonNull List<Object> payloads) {
+        if (RecyclerTrace.ENABLED) RecyclerTrace.begin(RecyclerTrace.bindSection(holder.getItemViewType()));
+        long start = metricsStart();
+        holder.onBound(position);
+        onBindHolder(holder, mDatas.get(position), position, payloads);
+        recordBind(holder, start);
+        if (mPrecomputeTextProvider != null) precomputeTextAhead(holder, position);
+        if (mPrefetchController != null) mPrefetchController.onBind(mDatas, position);
+        if (RecyclerTrace.ENABLED) RecyclerTrace.end();
+    }
+
+    /**
+     * 使用{@link AdapterExecutors#prefetch()}执行预取
+     */
+    public void setPrefetcher(@Nullable Prefetcher<T> prefetcher, int distance) {
+        setPrefetcher(prefetcher, distance, AdapterExecutors.prefetch());
+    }
+
+    /**
+     * 设置数据预取，每次绑定后在后台为滑动方向上的后distance条数据调用prefetcher，
+     * 快速滑动时预取距离相应增大，滑出范围的请求会被取消
+     */
+    public void setPrefetcher(@Nullable Prefetcher<T> prefetcher, int distance, @NonNull ExecutorService executor) {
+        if (mPrefetchController != null) {
+            mPrefetchController.reset();
+            if (mRecyclerView != null) mRecyclerView.removeOnScrollListener(mPrefetchController);
+        }
+        mPrefetchController = prefetcher == null ? null : new PrefetchController<>(prefetcher, distance, executor);
+        if (mPrefetchController != null && mRecyclerView != null) {
+            mRecyclerView.addOnScrollListener(mPrefetchController);
+        }
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mRecyclerView = recyclerView;
+        if (mPrefetchController != null) recyclerView.addOnScrollListener(mPrefetchController);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        if (mPrefetchController != null) {
+            recyclerView.removeOnScrollListener(mPrefetchController);
+            mPrefetchController.reset();
+        }
+        if (mRecyclerView == recyclerView) mRecyclerView = null;
+    }
+
+    /**
+     * 绑定某个位置后，在后台预先计算其后distance条数据的文字排版，
+     * 绑定时需通过{@link RecyclerHolder#setPrecomputedText}设置该控件的文字才能命中
+     *
+     * @param id 文字所在的TextView，排版参数和宽度取自刚绑定的holder
+     */
+    public void setTextPrecompute(@IdRes int id, @Nullable TextProvider<T> provider, int distance) {
+        this.mPrecomputeTextId = id;
+        this.mPrecomputeTextProvider = provider;
+        this.mPrecomputeDistance = distance;
+    }
+
+    private void precomputeTextAhead(RecyclerHolder holder, int position) {
+        View view = holder.obtainView(mPrecomputeTextId);
+        if (!(view instanceof TextView)) return;
+        TextView textView = (TextView) view;
+        PrecomputedTextCompat.Params params = TextViewCompat.getTextMetricsParams(textView);
+        TextLayoutCache cache = getTextLayoutCache();
+        int end = Math.min(mDatas.size(), position + 1 + mPrecomputeDistance);
+        for (int i = position + 1; i < end; i++) {
+            T t = mDatas.get(i);
+            if (t == null) continue;
+            CharSequence text = mPrecomputeTextProvider.getText(t);
+            if (text != null && !(text instanceof Spanned)) {
+                cache.precompute(text, params);
+            }
+        }
+    }
+
     public abstract void onBindHolder(RecyclerHolder holder, T t, int position);
 
+    /**
+     * 带payload的绑定，payloads为空时为完整绑定
+     * 默认不区分payload，直接完整绑定；需要局部刷新时重写该方法，可配合{@link ChangeSet}使用
+     */
+    public void onBindHolder(RecyclerHolder holder, T t, int position, @NonNull List<Object> payloads) {
+        onBindHolder(holder, t, position);
+    }
+
     @Override
     public int getItemCount() {
         return mDatas == null ? 0 : mDatas.size();
     }
+
+    public interface KeyExtractor<T> {
+        @NonNull
+        Object getKey(@NonNull T t);
+    }
+
+    public interface ItemFilter<T> {
+        /**
+         * 在后台线程调用
+         */
+        boolean accept(@NonNull T t, @NonNull CharSequence query);
+    }
+
+    public interface Prefetcher<T> {
+        /**
+         * 在后台线程调用，请求被取消时线程会被中断
+         */
+        void prefetch(@NonNull T t);
+    }
+
+    public interface TextProvider<T> {
+        @Nullable
+        CharSequence getText(@NonNull T t);
+    }
+
+    public interface StableIdProvider<T> {
+        long getItemId(@NonNull T t);
+    }
 }
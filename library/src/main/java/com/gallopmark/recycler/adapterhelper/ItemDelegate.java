@@ -0,0 +1,40 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * {@link MultiTypeAdapter}中一种数据类型的布局、holder创建及绑定
+ */
+public abstract class ItemDelegate<T> {
+
+    protected abstract int getLayoutId();
+
+    /**
+     * 创建item布局，默认inflate {@link #getLayoutId()}
+     */
+    @NonNull
+    protected View onCreateView(@NonNull LayoutInflater inflater, @NonNull ViewGroup parent) {
+        return inflater.inflate(getLayoutId(), parent, false);
+    }
+
+    /**
+     * holder创建后调用一次，可在此设置只需设置一次的控件属性
+     */
+    protected void onHolderCreated(@NonNull BaseRecyclerAdapter.RecyclerHolder holder) {
+    }
+
+    public abstract void onBindHolder(BaseRecyclerAdapter.RecyclerHolder holder, T t, int position);
+
+    /**
+     * 带payload的绑定，默认直接完整绑定
+     */
+    public void onBindHolder(BaseRecyclerAdapter.RecyclerHolder holder, T t, int position, @NonNull List<Object> payloads) {
+        onBindHolder(holder, t, position);
+    }
+}
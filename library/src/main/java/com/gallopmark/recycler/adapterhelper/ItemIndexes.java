@@ -0,0 +1,93 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import java.util.List;
+
+/**
+ * InnerAdapter数据变化时需要同步维护的状态：数据版本号、key索引及stable id索引
+ * 调用方先修改数据列表，再调用对应的onXxx；不依赖Android，可在JVM上直接运行（见benchmarks模块）
+ */
+final class ItemIndexes<T> {
+    private int mVersion;
+    private ItemKeyIndex<T> mKeyIndex;
+    private StableIdIndex<T> mStableIdIndex;
+
+    /**
+     * 每次数据变化后加一，用于判断异步计算开始后数据是否被修改过
+     */
+    int getVersion() {
+        return mVersion;
+    }
+
+    ItemKeyIndex<T> getKeyIndex() {
+        return mKeyIndex;
+    }
+
+    void setKeyIndex(ItemKeyIndex<T> keyIndex) {
+        this.mKeyIndex = keyIndex;
+    }
+
+    boolean hasStableIds() {
+        return mStableIdIndex != null;
+    }
+
+    void setStableIdIndex(StableIdIndex<T> stableIdIndex) {
+        this.mStableIdIndex = stableIdIndex;
+    }
+
+    boolean contains(List<T> datas, T t) {
+        return mKeyIndex == null ? datas.contains(t) : mKeyIndex.contains(datas, t);
+    }
+
+    boolean containsAll(List<T> datas, List<T> items) {
+        return mKeyIndex == null ? datas.containsAll(items) : mKeyIndex.containsAll(datas, items);
+    }
+
+    int indexOf(List<T> datas, T t) {
+        return mKeyIndex == null ? datas.indexOf(t) : mKeyIndex.indexOf(datas, t);
+    }
+
+    long idOf(T t) {
+        return mStableIdIndex.idOf(t);
+    }
+
+    /**
+     * 未设置stable id或找不到时返回-1
+     */
+    int findPosition(List<T> datas, long id) {
+        return mStableIdIndex == null ? -1 : mStableIdIndex.findPosition(datas, id);
+    }
+
+    void onInserted(List<T> datas, int position, int count) {
+        mVersion++;
+        if (mKeyIndex != null) mKeyIndex.onInserted(datas, position, count);
+        if (mStableIdIndex != null) mStableIdIndex.onInserted(datas, position, count);
+    }
+
+    void onRemoved(T removed, int position) {
+        mVersion++;
+        if (mKeyIndex != null) mKeyIndex.onRemoved(removed, position);
+        if (mStableIdIndex != null) mStableIdIndex.onRemoved(removed, position);
+    }
+
+    void onReplaced(T oldItem, T newItem, int position) {
+        mVersion++;
+        if (mKeyIndex != null) mKeyIndex.onReplaced(oldItem, newItem, position);
+        if (mStableIdIndex != null) mStableIdIndex.onReplaced(oldItem, newItem, position);
+    }
+
+    /**
+     * 数据整体替换
+     */
+    void onReset() {
+        mVersion++;
+        invalidate();
+    }
+
+    /**
+     * 数据被直接修改，下次查找时重建索引
+     */
+    void invalidate() {
+        if (mKeyIndex != null) mKeyIndex.invalidate();
+        if (mStableIdIndex != null) mStableIdIndex.invalidate();
+    }
+}
@@ -0,0 +1,131 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * key -> position 索引
+ * 插入、删除只维护key集合，受影响的位置延迟到下一次按位置查找时再修正
+ * 同一key可能出现多次（如addItems插入了部分重复的数据），记录其出现次数及第一次出现的位置，
+ * 与List.indexOf结果一致；只有全部移除后才从索引中删除
+ * 不依赖Android，可在JVM上直接运行（见benchmarks模块）
+ */
+abstract class ItemKeyIndex<T> {
+    private final HashMap<Object, Entry> mEntries = new HashMap<>();
+    // 小于该值的位置记录是准确的
+    private int mValidCount;
+    // 建立索引时数据的长度，-1表示尚未建立
+    private int mIndexedSize = -1;
+    // 每次修正位置时递增，用于判断本次修正中是否已找到该key第一次出现的位置
+    private int mFixGeneration;
+
+    abstract Object keyOf(T t);
+
+    boolean contains(List<T> datas, T t) {
+        ensureIndexed(datas);
+        return mEntries.containsKey(keyOf(t));
+    }
+
+    /**
+     * datas中是否包含items的全部元素
+     */
+    boolean containsAll(List<T> datas, List<T> items) {
+        ensureIndexed(datas);
+        for (int i = 0, size = items.size(); i < size; i++) {
+            T t = items.get(i);
+            if (t == null || !mEntries.containsKey(keyOf(t))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return 第一次出现的位置
+     */
+    int indexOf(List<T> datas, T t) {
+        ensureIndexed(datas);
+        Entry entry = mEntries.get(keyOf(t));
+        if (entry == null) return -1;
+        if (entry.position < mValidCount) return entry.position;
+        fixPositions(datas);
+        return entry.position;
+    }
+
+    void onInserted(List<T> datas, int position, int count) {
+        if (mIndexedSize < 0) return;
+        for (int i = position; i < position + count; i++) {
+            T t = datas.get(i);
+            if (t != null) addKey(keyOf(t), i);
+        }
+        mValidCount = Math.min(mValidCount, position);
+        mIndexedSize += count;
+    }
+
+    void onRemoved(T removed, int position) {
+        if (mIndexedSize < 0) return;
+        if (removed != null) removeKey(keyOf(removed));
+        mValidCount = Math.min(mValidCount, position);
+        mIndexedSize--;
+    }
+
+    void onReplaced(T oldItem, T newItem, int position) {
+        if (mIndexedSize < 0) return;
+        if (oldItem != null) removeKey(keyOf(oldItem));
+        if (newItem != null) addKey(keyOf(newItem), position);
+        // 该位置可能是旧key第一次出现的位置，也可能早于新key原来第一次出现的位置
+        mValidCount = Math.min(mValidCount, position);
+    }
+
+    void invalidate() {
+        mEntries.clear();
+        mValidCount = 0;
+        mIndexedSize = -1;
+    }
+
+    // 长度与记录不一致说明数据被直接修改过，需要重建
+    private void ensureIndexed(List<T> datas) {
+        if (mIndexedSize == datas.size()) return;
+        mEntries.clear();
+        for (int i = 0, size = datas.size(); i < size; i++) {
+            T t = datas.get(i);
+            if (t != null) addKey(keyOf(t), i);
+        }
+        mValidCount = 0;
+        mIndexedSize = datas.size();
+        fixPositions(datas);
+    }
+
+    private void addKey(Object key, int position) {
+        Entry entry = mEntries.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            entry.position = position;
+            mEntries.put(key, entry);
+        }
+        entry.count++;
+    }
+
+    private void removeKey(Object key) {
+        Entry entry = mEntries.get(key);
+        if (entry != null && --entry.count <= 0) mEntries.remove(key);
+    }
+
+    // 小于mValidCount的位置仍然准确，其余key按第一次出现的位置重新记录
+    private void fixPositions(List<T> datas) {
+        int generation = ++mFixGeneration;
+        for (int i = mValidCount, size = datas.size(); i < size; i++) {
+            T t = datas.get(i);
+            if (t == null) continue;
+            Entry entry = mEntries.get(keyOf(t));
+            if (entry == null || entry.position < mValidCount || entry.generation == generation) continue;
+            entry.position = i;
+            entry.generation = generation;
+        }
+        mValidCount = datas.size();
+    }
+
+    private static class Entry {
+        int position;
+        int count;
+        int generation;
+    }
+}
@@ -0,0 +1,117 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import java.util.Arrays;
+
+/**
+ * long -> int 开放寻址哈希表，读写都不产生装箱对象
+ */
+class LongIntMap {
+    static final int NO_VALUE = -1;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] mKeys;
+    private int[] mValues;
+    private boolean[] mUsed;
+    private int mSize;
+    private int mMask;
+
+    LongIntMap() {
+        this(16);
+    }
+
+    LongIntMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    int get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? NO_VALUE : mValues[index];
+    }
+
+    void put(long key, int value) {
+        int index = hash(key) & mMask;
+        while (mUsed[index]) {
+            if (mKeys[index] == key) {
+                mValues[index] = value;
+                return;
+            }
+            index = (index + 1) & mMask;
+        }
+        mUsed[index] = true;
+        mKeys[index] = key;
+        mValues[index] = value;
+        if (++mSize > mKeys.length * LOAD_FACTOR) {
+            rehash(mKeys.length << 1);
+        }
+    }
+
+    void remove(long key) {
+        int index = indexOf(key);
+        if (index < 0) return;
+        mUsed[index] = false;
+        mSize--;
+        // 线性探测的删除：把后续同一探测链上的元素前移，避免查找中断
+        int next = (index + 1) & mMask;
+        while (mUsed[next]) {
+            int ideal = hash(mKeys[next]) & mMask;
+            if (((next - ideal) & mMask) >= ((next - index) & mMask)) {
+                mKeys[index] = mKeys[next];
+                mValues[index] = mValues[next];
+                mUsed[index] = true;
+                mUsed[next] = false;
+                index = next;
+            }
+            next = (next + 1) & mMask;
+        }
+    }
+
+    void clear() {
+        if (mSize == 0) return;
+        Arrays.fill(mUsed, false);
+        mSize = 0;
+    }
+
+    private int indexOf(long key) {
+        int index = hash(key) & mMask;
+        while (mUsed[index]) {
+            if (mKeys[index] == key) return index;
+            index = (index + 1) & mMask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        long[] keys = mKeys;
+        int[] values = mValues;
+        boolean[] used = mUsed;
+        allocate(capacity);
+        mSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) put(keys[i], values[i]);
+        }
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new long[capacity];
+        mValues = new int[capacity];
+        mUsed = new boolean[capacity];
+        mMask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,132 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.content.Context;
+import android.util.SparseArray;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * 多类型Adapter，每种数据类型对应一个{@link ItemDelegate}
+ * 数据类型到viewType通过IdentityHashMap查找，viewType到delegate通过SparseArray查找，不需要instanceof判断；
+ * 通过{@link DelegateFactory}注册的delegate在第一次创建该类型的holder时才创建
+ */
+public class MultiTypeAdapter extends InnerAdapter<Object> {
+    private final IdentityHashMap<Class<?>, Integer> mViewTypes = new IdentityHashMap<>();
+    // 通过父类解析后缓存到mViewTypes中的子类，注册新类型时清除
+    private final List<Class<?>> mResolvedClasses = new ArrayList<>();
+    private final SparseArray<ItemDelegate<Object>> mDelegates = new SparseArray<>();
+    private final SparseArray<DelegateFactory<?>> mFactories = new SparseArray<>();
+    private int mNextViewType;
+
+    public MultiTypeAdapter(Context context, List<Object> mDatas) {
+        super(context, mDatas);
+    }
+
+    /**
+     * 注册clazz类型数据的delegate，需在数据绑定之前调用
+     *
+     * @return 分配的viewType
+     */
+    public <T> int register(@NonNull Class<T> clazz, @NonNull ItemDelegate<T> delegate) {
+        int viewType = obtainViewType(clazz);
+        mDelegates.put(viewType, castDelegate(delegate));
+        mFactories.remove(viewType);
+        return viewType;
+    }
+
+    /**
+     * 注册clazz类型数据的delegate，delegate在第一次用到时才创建
+     *
+     * @return 分配的viewType
+     */
+    public <T> int register(@NonNull Class<T> clazz, @NonNull DelegateFactory<T> factory) {
+        int viewType = obtainViewType(clazz);
+        mDelegates.remove(viewType);
+        mFactories.put(viewType, factory);
+        return viewType;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        Class<?> clazz = mDatas.get(position).getClass();
+        Integer viewType = mViewTypes.get(clazz);
+        if (viewType == null) {
+            viewType = resolveViewType(clazz);
+        }
+        return viewType;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        long start = metricsStart();
+        ItemDelegate<Object> delegate = getDelegate(viewType);
+        RecyclerHolder holder = createHolder(delegate.onCreateView(mLayoutInflater, parent), viewType);
+        delegate.onHolderCreated(holder);
+        recordCreate(viewType, start);
+        return holder;
+    }
+
+    @Override
+    public void onBindHolder(RecyclerHolder holder, Object t, int position) {
+        getDelegate(holder.getItemViewType()).onBindHolder(holder, t, position);
+    }
+
+    @Override
+    public void onBindHolder(RecyclerHolder holder, Object t, int position, @NonNull List<Object> payloads) {
+        getDelegate(holder.getItemViewType()).onBindHolder(holder, t, position, payloads);
+    }
+
+    private int obtainViewType(Class<?> clazz) {
+        for (Class<?> resolved : mResolvedClasses) {
+            mViewTypes.remove(resolved);
+        }
+        mResolvedClasses.clear();
+        Integer viewType = mViewTypes.get(clazz);
+        if (viewType != null) return viewType;
+        int newType = mNextViewType++;
+        mViewTypes.put(clazz, newType);
+        return newType;
+    }
+
+    // 数据是已注册类型的子类时，沿父类查找并缓存结果，之后同样是一次查找
+    private int resolveViewType(Class<?> clazz) {
+        for (Class<?> c = clazz.getSuperclass(); c != null; c = c.getSuperclass()) {
+            Integer viewType = mViewTypes.get(c);
+            if (viewType != null) {
+                mViewTypes.put(clazz, viewType);
+                mResolvedClasses.add(clazz);
+                return viewType;
+            }
+        }
+        throw new IllegalStateException("未注册的数据类型：" + clazz.getName());
+    }
+
+    private ItemDelegate<Object> getDelegate(int viewType) {
+        ItemDelegate<Object> delegate = mDelegates.get(viewType);
+        if (delegate != null) return delegate;
+        DelegateFactory<?> factory = mFactories.get(viewType);
+        if (factory == null) {
+            throw new IllegalStateException("viewType " + viewType + " 没有对应的ItemDelegate");
+        }
+        delegate = castDelegate(factory.create());
+        mDelegates.put(viewType, delegate);
+        mFactories.remove(viewType);
+        return delegate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ItemDelegate<Object> castDelegate(ItemDelegate<?> delegate) {
+        return (ItemDelegate<Object>) delegate;
+    }
+
+    public interface DelegateFactory<T> {
+        @NonNull
+        ItemDelegate<T> create();
+    }
+}
@@ -0,0 +1,253 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * 分页加载的Adapter
+ * 数据按固定大小分页从{@link PageSource}后台加载，只保留可见位置附近的若干页，
+ * 超出上限的页按最近最少使用淘汰；未加载的位置以null占位绑定
+ * 加载失败的页会被记录并通知{@link OnPageLoadErrorListener}，下次绑定到该页或调用{@link #retry()}时重新加载
+ */
+public abstract class PagedInnerAdapter<T> extends BaseRecyclerAdapter {
+    private static final String TAG = "PagedInnerAdapter";
+
+    private final PageSource<T> mPageSource;
+    private final int mPageSize;
+    private final int mMaxResidentPages;
+    private int mPrefetchPages;
+    private int mTotalCount;
+    private int mGeneration;
+    private Executor mExecutor;
+    private final SparseBooleanArray mLoadingPages = new SparseBooleanArray();
+    // 加载失败的页及原因，重新加载成功或refresh后移除
+    private final SparseArray<RuntimeException> mFailedPages = new SparseArray<>();
+    private OnPageLoadErrorListener mOnPageLoadErrorListener;
+    // accessOrder为true，迭代顺序即最近最少使用顺序
+    private final LinkedHashMap<Integer, List<T>> mPages;
+
+    /**
+     * @param pageSize         每页条数
+     * @param maxResidentPages 内存中最多保留的页数
+     */
+    public PagedInnerAdapter(Context context, @NonNull PageSource<T> pageSource, int pageSize, final int maxResidentPages) {
+        super(context);
+        if (pageSize <= 0 || maxResidentPages <= 0) {
+            throw new IllegalArgumentException("pageSize和maxResidentPages必须大于0");
+        }
+        this.mPageSource = pageSource;
+        this.mPageSize = pageSize;
+        this.mMaxResidentPages = maxResidentPages;
+        this.mPrefetchPages = (maxResidentPages - 1) / 2;
+        this.mPages = new LinkedHashMap<Integer, List<T>>(maxResidentPages + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > mMaxResidentPages;
+            }
+        };
+    }
+
+    /**
+     * 设置绑定位置前后预加载的页数，窗口大小不能超过maxResidentPages，否则会反复淘汰
+     */
+    public void setPrefetchPages(int prefetchPages) {
+        if (prefetchPages < 0 || prefetchPages * 2 + 1 > mMaxResidentPages) {
+            throw new IllegalArgumentException("prefetchPages * 2 + 1 不能大于maxResidentPages");
+        }
+        this.mPrefetchPages = prefetchPages;
+    }
+
+    public void setExecutor(@Nullable Executor executor) {
+        this.mExecutor = executor;
+    }
+
+    /**
+     * 页加载失败时在主线程回调，未设置时只输出日志
+     */
+    public void setOnPageLoadErrorListener(@Nullable OnPageLoadErrorListener listener) {
+        this.mOnPageLoadErrorListener = listener;
+    }
+
+    /**
+     * 重新读取总条数并丢弃已加载的页，正在加载的结果也会被丢弃
+     */
+    public void refresh() {
+        final int runGeneration = ++mGeneration;
+        mPages.clear();
+        mLoadingPages.clear();
+        mFailedPages.clear();
+        getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                final int totalCount = mPageSource.getTotalCount();
+                AdapterExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (runGeneration != mGeneration) return;
+                        mTotalCount = totalCount;
+                        notifyDataSetChanged();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 获取已加载的数据，未加载时返回null
+     */
+    @Nullable
+    @Override
+    public T getItem(int position) {
+        List<T> page = mPages.get(position / mPageSize);
+        if (page == null) return null;
+        int offset = position % mPageSize;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    public boolean isLoaded(int position) {
+        return mPages.containsKey(position / mPageSize);
+    }
+
+    /**
+     * position所在页最近一次加载是否失败，可据此绑定失败状态的占位内容
+     */
+    public boolean isLoadFailed(int position) {
+        return mFailedPages.get(position / mPageSize) != null;
+    }
+
+    /**
+     * 重新加载所有加载失败的页，不必等到再次绑定
+     */
+    public void retry() {
+        for (int i = 0; i < mFailedPages.size(); i++) {
+            int pageIndex = mFailedPages.keyAt(i);
+            if (!mLoadingPages.get(pageIndex)) loadPage(pageIndex);
+        }
+    }
+
+    public int getResidentPageCount() {
+        return mPages.size();
+    }
+
+    @NonNull
+    @Override
+    public RecyclerHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        long start = metricsStart();
+        RecyclerHolder holder = createHolder(mLayoutInflater.inflate(bindView(viewType), parent, false), viewType);
+        recordCreate(viewType, start);
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerHolder holder, int position) {
+        long start = metricsStart();
+        holder.onBound(position);
+        loadAround(position);
+        onBindHolder(holder, getItem(position), position);
+        recordBind(holder, start);
+    }
+
+    @Override
+    public int getItemCount() {
+        return mTotalCount;
+    }
+
+    private void loadAround(int position) {
+        int page = position / mPageSize;
+        int lastPage = (mTotalCount - 1) / mPageSize;
+        int from = Math.max(0, page - mPrefetchPages);
+        int to = Math.min(lastPage, page + mPrefetchPages);
+        for (int i = from; i <= to; i++) {
+            if (!mPages.containsKey(i) && !mLoadingPages.get(i)) {
+                loadPage(i);
+            }
+        }
+    }
+
+    private void loadPage(final int pageIndex) {
+        final int runGeneration = mGeneration;
+        mLoadingPages.put(pageIndex, true);
+        getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                List<T> result = null;
+                RuntimeException error = null;
+                try {
+                    result = mPageSource.loadPage(pageIndex, mPageSize);
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                final List<T> page = result;
+                final RuntimeException loadError = error;
+                AdapterExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (runGeneration != mGeneration) return;
+                        mLoadingPages.delete(pageIndex);
+                        // 加载失败时不缓存，记录失败，下次绑定到该页或retry()时重试
+                        if (loadError != null) {
+                            onPageLoadFailed(pageIndex, loadError);
+                            return;
+                        }
+                        mFailedPages.delete(pageIndex);
+                        mPages.put(pageIndex, page);
+                        int start = pageIndex * mPageSize;
+                        int count = Math.min(page.size(), mTotalCount - start);
+                        if (count > 0) notifyItemRangeChanged(start, count);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onPageLoadFailed(int pageIndex, RuntimeException e) {
+        mFailedPages.put(pageIndex, e);
+        if (mOnPageLoadErrorListener != null) {
+            mOnPageLoadErrorListener.onPageLoadError(this, pageIndex, e);
+        } else {
+            Log.w(TAG, "加载第" + pageIndex + "页失败", e);
+        }
+    }
+
+    private Executor getExecutor() {
+        return mExecutor != null ? mExecutor : AdapterExecutors.background();
+    }
+
+    protected abstract int bindView(int viewType);
+
+    /**
+     * @param t 该位置所在页尚未加载时为null，应绑定占位内容
+     */
+    public abstract void onBindHolder(RecyclerHolder holder, @Nullable T t, int position);
+
+    public interface PageSource<T> {
+        /**
+         * 数据总条数，在后台线程调用
+         */
+        int getTotalCount();
+
+        /**
+         * 加载第pageIndex页，在后台线程调用
+         */
+        @NonNull
+        List<T> loadPage(int pageIndex, int pageSize);
+    }
+
+    public interface OnPageLoadErrorListener {
+        /**
+         * 在主线程调用，可调用{@link PagedInnerAdapter#retry()}重试
+         */
+        void onPageLoadError(PagedInnerAdapter<?> adapter, int pageIndex, @NonNull RuntimeException e);
+    }
+}
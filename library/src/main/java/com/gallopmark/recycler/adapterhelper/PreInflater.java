@@ -0,0 +1,141 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * CommonAdapter的预加载：在后台线程提前inflate布局，回到主线程创建holder后放入RecyclerView的缓存池，
+ * 首次显示时直接从缓存池取用，不再在滑动中inflate
+ * 布局需要Looper（如控件内部创建Handler）而在后台inflate失败时，该viewType之后都改在主线程inflate
+ */
+public class PreInflater {
+    // RecycledViewPool每种viewType默认的缓存上限
+    private static final int DEFAULT_MAX_SCRAP = 5;
+
+    private final SparseArray<ArrayDeque<View>> mStagedViews = new SparseArray<>();
+    private final SparseBooleanArray mMainThreadOnly = new SparseBooleanArray();
+    private Executor mExecutor;
+    private int mPreInflatedCount;
+    private int mHitCount;
+    private int mMissCount;
+
+    PreInflater() {
+    }
+
+    public void setExecutor(@Nullable Executor executor) {
+        this.mExecutor = executor;
+    }
+
+    /**
+     * 已预先创建并放入缓存池的holder数量
+     */
+    public int getPreInflatedCount() {
+        return mPreInflatedCount;
+    }
+
+    /**
+     * 绑定时使用的是预先创建的holder的次数
+     */
+    public int getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * 显示时缓存池中没有可用holder，只能在主线程inflate的次数
+     */
+    public int getMissCount() {
+        return mMissCount;
+    }
+
+    void preInflate(final CommonAdapter<?> adapter, final RecyclerView recyclerView, final int viewType,
+                    @LayoutRes final int layoutId, final int count) {
+        if (count <= 0) return;
+        if (mMainThreadOnly.get(viewType)) {
+            for (int i = 0; i < count; i++) {
+                deliver(adapter, recyclerView, viewType, inflate(LayoutInflater.from(recyclerView.getContext()), layoutId, recyclerView));
+            }
+            return;
+        }
+        // 使用单独的LayoutInflater，避免与主线程争用同一个实例
+        final LayoutInflater inflater = LayoutInflater.from(recyclerView.getContext()).cloneInContext(recyclerView.getContext());
+        Executor executor = mExecutor != null ? mExecutor : AdapterExecutors.background();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<View> views = new ArrayList<>(count);
+                boolean needLooper = false;
+                for (int i = 0; i < count; i++) {
+                    try {
+                        views.add(inflate(inflater, layoutId, recyclerView));
+                    } catch (RuntimeException e) {
+                        needLooper = true;
+                        break;
+                    }
+                }
+                final boolean fallback = needLooper;
+                AdapterExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0, size = views.size(); i < size; i++) {
+                            deliver(adapter, recyclerView, viewType, views.get(i));
+                        }
+                        if (!fallback) return;
+                        mMainThreadOnly.put(viewType, true);
+                        for (int i = views.size(); i < count; i++) {
+                            deliver(adapter, recyclerView, viewType, inflate(inflater, layoutId, recyclerView));
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    @Nullable
+    View pollStagedView(int viewType) {
+        ArrayDeque<View> views = mStagedViews.get(viewType);
+        return views == null ? null : views.poll();
+    }
+
+    void onMiss() {
+        mMissCount++;
+    }
+
+    void onBind(@NonNull BaseRecyclerAdapter.RecyclerHolder holder) {
+        if (holder.mPreInflated) {
+            holder.mPreInflated = false;
+            mHitCount++;
+        }
+    }
+
+    private View inflate(LayoutInflater inflater, int layoutId, RecyclerView parent) {
+        return inflater.inflate(layoutId, parent, false);
+    }
+
+    // 通过adapter.createViewHolder创建holder，以便RecyclerView记录其viewType
+    private void deliver(CommonAdapter<?> adapter, RecyclerView recyclerView, int viewType, View view) {
+        ArrayDeque<View> views = mStagedViews.get(viewType);
+        if (views == null) {
+            views = new ArrayDeque<>();
+            mStagedViews.put(viewType, views);
+        }
+        views.add(view);
+        RecyclerView.ViewHolder holder = adapter.createViewHolder(recyclerView, viewType);
+        RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        int needed = pool.getRecycledViewCount(viewType) + 1;
+        if (needed > DEFAULT_MAX_SCRAP) pool.setMaxRecycledViews(viewType, needed);
+        pool.putRecycledView(holder);
+        mPreInflatedCount++;
+    }
+}
@@ -0,0 +1,101 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * InnerAdapter的数据预取：根据滑动方向和速度，在后台为即将显示的数据调用{@link InnerAdapter.Prefetcher}，
+ * 已经滑出范围的位置取消其未完成的请求
+ * 只在主线程访问
+ */
+class PrefetchController<T> extends RecyclerView.OnScrollListener {
+    // 每帧滑动超过该距离（px）时预取距离翻倍，最多三倍
+    private static final int FAST_SCROLL_DELTA = 48;
+    private static final int MAX_MULTIPLIER = 3;
+
+    private final InnerAdapter.Prefetcher<T> mPrefetcher;
+    private final int mDistance;
+    private final ExecutorService mExecutor;
+    // position -> 预取任务，包括已完成的，用于避免重复预取
+    private final SparseArray<Future<?>> mTasks = new SparseArray<>();
+    private int mDirection = 1;
+    private int mMultiplier = 1;
+    private int mLastBoundPosition = RecyclerView.NO_POSITION;
+
+    PrefetchController(InnerAdapter.Prefetcher<T> prefetcher, int distance, ExecutorService executor) {
+        this.mPrefetcher = prefetcher;
+        this.mDistance = distance;
+        this.mExecutor = executor;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        int delta = dy != 0 ? dy : dx;
+        if (delta == 0) return;
+        mDirection = delta > 0 ? 1 : -1;
+        mMultiplier = Math.min(MAX_MULTIPLIER, 1 + Math.abs(delta) / FAST_SCROLL_DELTA);
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) mMultiplier = 1;
+    }
+
+    void onBind(List<T> datas, int position) {
+        if (mLastBoundPosition != RecyclerView.NO_POSITION && position != mLastBoundPosition) {
+            // 没有滑动事件时（如首次布局）以绑定顺序判断方向
+            if (mMultiplier == 1) mDirection = position > mLastBoundPosition ? 1 : -1;
+        }
+        mLastBoundPosition = position;
+        int distance = mDistance * mMultiplier;
+        int from = mDirection > 0 ? position + 1 : position - distance;
+        int to = mDirection > 0 ? position + distance : position - 1;
+        cancelOutside(position - distance, position + distance);
+        from = Math.max(from, 0);
+        to = Math.min(to, datas.size() - 1);
+        for (int i = from; i <= to; i++) {
+            if (mTasks.get(i) != null) continue;
+            final T t = itemAt(datas, i);
+            if (t == null) continue;
+            mTasks.put(i, mExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    mPrefetcher.prefetch(t);
+                }
+            }));
+        }
+    }
+
+    // ColumnarList的get返回复用的游标，后台执行时可能已指向其他行
+    @SuppressWarnings("unchecked")
+    private static <E> E itemAt(List<E> datas, int position) {
+        if (datas instanceof ColumnarList) return (E) ((ColumnarList) datas).getRow(position);
+        return datas.get(position);
+    }
+
+    /**
+     * 数据结构变化后位置已失效，取消全部请求
+     */
+    void reset() {
+        for (int i = 0; i < mTasks.size(); i++) {
+            mTasks.valueAt(i).cancel(true);
+        }
+        mTasks.clear();
+        mLastBoundPosition = RecyclerView.NO_POSITION;
+    }
+
+    private void cancelOutside(int from, int to) {
+        for (int i = mTasks.size() - 1; i >= 0; i--) {
+            int position = mTasks.keyAt(i);
+            if (position >= from && position <= to) continue;
+            mTasks.valueAt(i).cancel(true);
+            mTasks.removeAt(i);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.ColorRes;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+/**
+ * 颜色、图片资源的解析缓存，同一资源只解析一次，图片通过ConstantState创建新实例
+ * 每次读取时检查context的配置（如深色模式、语言、屏幕方向）与主题，变化后清空；
+ * 不注册任何全局回调，缓存随持有它的adapter一起回收
+ * 资源均按构造时的context解析，不同主题（如android:theme覆盖）使用各自的缓存
+ */
+public class ResourceCache {
+    private final Context mContext;
+    private final SparseIntArray mColors = new SparseIntArray();
+    private final SparseArray<Drawable.ConstantState> mDrawables = new SparseArray<>();
+    private final Configuration mConfiguration;
+    private Resources.Theme mTheme;
+
+    public ResourceCache(@NonNull Context context) {
+        this.mContext = context;
+        this.mConfiguration = new Configuration(context.getResources().getConfiguration());
+        this.mTheme = context.getTheme();
+    }
+
+    @ColorInt
+    public int getColor(@ColorRes int id) {
+        checkConfiguration();
+        int index = mColors.indexOfKey(id);
+        if (index >= 0) return mColors.valueAt(index);
+        int color = ContextCompat.getColor(mContext, id);
+        mColors.put(id, color);
+        return color;
+    }
+
+    /**
+     * @return id为0时返回null
+     */
+    @Nullable
+    public Drawable getDrawable(@DrawableRes int id) {
+        if (id == 0) return null;
+        checkConfiguration();
+        Drawable.ConstantState state = mDrawables.get(id);
+        if (state != null) return state.newDrawable(mContext.getResources());
+        Drawable drawable = ContextCompat.getDrawable(mContext, id);
+        if (drawable == null) return null;
+        state = drawable.getConstantState();
+        if (state != null) mDrawables.put(id, state);
+        return drawable;
+    }
+
+    /**
+     * drawable是否由本缓存按id创建且未被mutate，用于跳过重复设置，不创建对象
+     */
+    public boolean isSameDrawable(@Nullable Drawable drawable, @DrawableRes int id) {
+        if (id == 0) return drawable == null;
+        if (drawable == null) return false;
+        checkConfiguration();
+        Drawable.ConstantState state = mDrawables.get(id);
+        return state != null && drawable.getConstantState() == state;
+    }
+
+    public void clear() {
+        mColors.clear();
+        mDrawables.clear();
+    }
+
+    /**
+     * 内存不足时可调用，只释放图片
+     */
+    public void trimMemory() {
+        mDrawables.clear();
+    }
+
+    // 配置变化时Resources中的Configuration会被原地更新，Activity重建或setTheme后主题对象会变化
+    private void checkConfiguration() {
+        Configuration configuration = mContext.getResources().getConfiguration();
+        Resources.Theme theme = mContext.getTheme();
+        if (theme != mTheme || mConfiguration.diff(configuration) != 0) {
+            mConfiguration.setTo(configuration);
+            mTheme = theme;
+            clear();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.content.Context;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.SortedList;
+import androidx.recyclerview.widget.SortedListAdapterCallback;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 按{@link #compare(Object, Object)}保持有序的Adapter
+ * 插入删除通过二分查找定位，排序字段变化的数据只需一次move，
+ * 批量修改放在{@link #beginBatchedUpdates()}与{@link #endBatchedUpdates()}之间可合并通知
+ */
+public abstract class SortedCommonAdapter<T> extends BaseRecyclerAdapter {
+    protected final SortedList<T> mDatas;
+
+    public SortedCommonAdapter(Context context, @NonNull Class<T> klass) {
+        super(context);
+        mDatas = new SortedList<>(klass, new SortedListAdapterCallback<T>(this) {
+            @Override
+            public int compare(T o1, T o2) {
+                return SortedCommonAdapter.this.compare(o1, o2);
+            }
+
+            @Override
+            public boolean areContentsTheSame(T oldItem, T newItem) {
+                return SortedCommonAdapter.this.areContentsTheSame(oldItem, newItem);
+            }
+
+            @Override
+            public boolean areItemsTheSame(T item1, T item2) {
+                return SortedCommonAdapter.this.areItemsTheSame(item1, item2);
+            }
+
+            @Nullable
+            @Override
+            public Object getChangePayload(T item1, T item2) {
+                return SortedCommonAdapter.this.getChangePayload(item1, item2);
+            }
+        });
+    }
+
+    @Override
+    public T getItem(int position) {
+        return mDatas.get(position);
+    }
+
+    /**
+     * 添加数据，已存在相同数据（areItemsTheSame）时替换
+     *
+     * @return 数据所在位置
+     */
+    public int add(T t) {
+        return mDatas.add(t);
+    }
+
+    public void addAll(@NonNull Collection<T> items) {
+        mDatas.addAll(items);
+    }
+
+    /**
+     * 用新数据替换全部数据，只通知发生变化的部分
+     */
+    public void replaceAll(@NonNull Collection<T> items) {
+        mDatas.replaceAll(items);
+    }
+
+    public boolean remove(T t) {
+        return mDatas.remove(t);
+    }
+
+    public T removeItemAt(int position) {
+        return mDatas.removeItemAt(position);
+    }
+
+    /**
+     * 更新数据，排序字段变化时移动到新的位置
+     */
+    public void updateItemAt(int position, T t) {
+        mDatas.updateItemAt(position, t);
+    }
+
+    /**
+     * 数据本身的排序字段被直接修改后调用，重新确定其位置
+     */
+    public void recalculatePositionOfItemAt(int position) {
+        mDatas.recalculatePositionOfItemAt(position);
+    }
+
+    public int indexOf(T t) {
+        return mDatas.indexOf(t);
+    }
+
+    public void clear() {
+        mDatas.clear();
+    }
+
+    public void beginBatchedUpdates() {
+        mDatas.beginBatchedUpdates();
+    }
+
+    public void endBatchedUpdates() {
+        mDatas.endBatchedUpdates();
+    }
+
+    @NonNull
+    @Override
+    public RecyclerHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        long start = metricsStart();
+        RecyclerHolder holder = createHolder(mLayoutInflater.inflate(bindView(viewType), parent, false), viewType);
+        recordCreate(viewType, start);
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerHolder holder, int position) {
+        onBindHolder(holder, mDatas.get(position), position);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerHolder holder, int position, @NonNull List<Object> payloads) {
+        long start = metricsStart();
+        holder.onBound(position);
+        onBindHolder(holder, mDatas.get(position), position, payloads);
+        recordBind(holder, start);
+    }
+
+    @Override
+    public int getItemCount() {
+        return mDatas.size();
+    }
+
+    protected abstract int bindView(int viewType);
+
+    public abstract void onBindHolder(RecyclerHolder holder, T t, int position);
+
+    public void onBindHolder(RecyclerHolder holder, T t, int position, @NonNull List<Object> payloads) {
+        onBindHolder(holder, t, position);
+    }
+
+    protected abstract int compare(T o1, T o2);
+
+    protected abstract boolean areItemsTheSame(T item1, T item2);
+
+    protected abstract boolean areContentsTheSame(T oldItem, T newItem);
+
+    @Nullable
+    protected Object getChangePayload(T item1, T item2) {
+        return null;
+    }
+}
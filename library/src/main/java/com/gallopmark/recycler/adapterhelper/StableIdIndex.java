@@ -0,0 +1,69 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import java.util.List;
+
+/**
+ * stable id -> position 索引，与{@link ItemKeyIndex}一样延迟修正位置
+ */
+abstract class StableIdIndex<T> {
+    private final LongIntMap mPositions = new LongIntMap();
+    private int mValidCount;
+    private int mIndexedSize = -1;
+
+    abstract long idOf(T t);
+
+    int findPosition(List<T> datas, long id) {
+        ensureIndexed(datas);
+        int position = mPositions.get(id);
+        if (position == LongIntMap.NO_VALUE) return -1;
+        if (position < mValidCount) return position;
+        fixPositions(datas);
+        position = mPositions.get(id);
+        return position == LongIntMap.NO_VALUE ? -1 : position;
+    }
+
+    void onInserted(List<T> datas, int position, int count) {
+        if (mIndexedSize < 0) return;
+        for (int i = position; i < position + count; i++) {
+            T t = datas.get(i);
+            if (t != null) mPositions.put(idOf(t), i);
+        }
+        mValidCount = Math.min(mValidCount, position);
+        mIndexedSize += count;
+    }
+
+    void onRemoved(T removed, int position) {
+        if (mIndexedSize < 0) return;
+        if (removed != null) mPositions.remove(idOf(removed));
+        mValidCount = Math.min(mValidCount, position);
+        mIndexedSize--;
+    }
+
+    void onReplaced(T oldItem, T newItem, int position) {
+        if (mIndexedSize < 0) return;
+        if (oldItem != null) mPositions.remove(idOf(oldItem));
+        if (newItem != null) mPositions.put(idOf(newItem), position);
+    }
+
+    void invalidate() {
+        mPositions.clear();
+        mValidCount = 0;
+        mIndexedSize = -1;
+    }
+
+    private void ensureIndexed(List<T> datas) {
+        if (mIndexedSize == datas.size()) return;
+        mPositions.clear();
+        mValidCount = 0;
+        mIndexedSize = datas.size();
+        fixPositions(datas);
+    }
+
+    private void fixPositions(List<T> datas) {
+        for (int i = mValidCount, size = datas.size(); i < size; i++) {
+            T t = datas.get(i);
+            if (t != null) mPositions.put(idOf(t), i);
+        }
+        mValidCount = datas.size();
+    }
+}
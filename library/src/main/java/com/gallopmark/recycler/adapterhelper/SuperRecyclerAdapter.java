@@ -17,7 +17,10 @@ public abstract class SuperRecyclerAdapter<T> extends InnerAdapter<T> {
     @NonNull
     @Override
     public RecyclerHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        return new RecyclerHolder(bindItemView(viewType, parent));
+        long start = metricsStart();
+        RecyclerHolder holder = createHolder(bindItemView(viewType, parent), viewType);
+        recordCreate(viewType, start);
+        return holder;
     }
 
     @NonNull
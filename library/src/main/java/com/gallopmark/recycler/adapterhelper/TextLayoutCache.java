@@ -0,0 +1,101 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+
+/**
+ * 预先计算文字排版的缓存
+ * 在后台线程通过PrecomputedTextCompat完成测量（API 28以上为PrecomputedText），
+ * 绑定时命中缓存即可跳过主线程的文字测量；按文字、TextView排版参数区分
+ * 不区分宽度：PrecomputedText只保存字形测量结果，与宽度无关，换行在TextView布局时按实际宽度计算，
+ * 因此预先计算时不需要等待TextView完成布局
+ */
+public class TextLayoutCache {
+    private static final int DEFAULT_MAX_ENTRIES = 200;
+
+    private final LruCache<Key, PrecomputedTextCompat> mCache;
+    // 正在计算的key，只在主线程访问
+    private final HashSet<Key> mPending = new HashSet<>();
+    private Executor mExecutor;
+
+    public TextLayoutCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public TextLayoutCache(int maxEntries) {
+        mCache = new LruCache<>(maxEntries);
+    }
+
+    public void setExecutor(@Nullable Executor executor) {
+        this.mExecutor = executor;
+    }
+
+    @Nullable
+    public PrecomputedTextCompat get(@NonNull CharSequence text, @NonNull PrecomputedTextCompat.Params params) {
+        return mCache.get(new Key(text, params));
+    }
+
+    /**
+     * 在后台线程计算text的排版并缓存，已缓存或正在计算时忽略
+     */
+    public void precompute(@NonNull CharSequence text, @NonNull PrecomputedTextCompat.Params params) {
+        final Key key = new Key(text, params);
+        if (mPending.contains(key) || mCache.get(key) != null) return;
+        mPending.add(key);
+        Executor executor = mExecutor != null ? mExecutor : AdapterExecutors.background();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                PrecomputedTextCompat precomputed = null;
+                try {
+                    precomputed = PrecomputedTextCompat.create(key.mText, key.mParams);
+                } catch (RuntimeException ignored) {
+                }
+                final PrecomputedTextCompat result = precomputed;
+                AdapterExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        mPending.remove(key);
+                        if (result != null) mCache.put(key, result);
+                    }
+                });
+            }
+        });
+    }
+
+    public void clear() {
+        mCache.evictAll();
+    }
+
+    private static class Key {
+        final CharSequence mText;
+        final PrecomputedTextCompat.Params mParams;
+
+        Key(CharSequence text, PrecomputedTextCompat.Params params) {
+            // 文字可能是可变的（如Editable），保存一份不可变的副本
+            this.mText = text instanceof String ? text : text.toString();
+            this.mParams = params;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return mText.equals(key.mText) && mParams.equals(key.mParams);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mText.hashCode();
+            result = 31 * result + mParams.hashCode();
+            return result;
+        }
+    }
+}
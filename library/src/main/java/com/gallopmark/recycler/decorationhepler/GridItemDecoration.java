@@ -18,6 +18,8 @@ import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 
 import android.view.View;
 
+import com.gallopmark.recycler.RecyclerTrace;
+
 import com.gallopmark.recycler.R;
 
 /*GridLayoutManager or StaggeredGridLayoutManager分割线*/
@@ -74,6 +76,7 @@ public class GridItemDecoration extends RecyclerView.ItemDecoration {
     public void getItemOffsets(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
         super.getItemOffsets(outRect, view, parent, state);
         if (parent.getAdapter() == null) return;
+        if (RecyclerTrace.ENABLED) RecyclerTrace.begin("GridItemDecoration.getItemOffsets");
         int itemPosition = ((RecyclerView.LayoutParams) view.getLayoutParams()).getViewLayoutPosition();
         int spanCount = getSpanCount(parent);
         int childCount = parent.getAdapter().getItemCount();
@@ -94,6 +97,7 @@ public class GridItemDecoration extends RecyclerView.ItemDecoration {
         } else {
             outRect.set(0, 0, getDividerHeight(), getDividerHeight());
         }
+        if (RecyclerTrace.ENABLED) RecyclerTrace.end();
     }
 
     private int getDividerHeight() {
@@ -102,8 +106,10 @@ public class GridItemDecoration extends RecyclerView.ItemDecoration {
 
     @Override
     public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        if (RecyclerTrace.ENABLED) RecyclerTrace.begin("GridItemDecoration.onDraw");
         drawHorizontal(c, parent);
         drawVertical(c, parent);
+        if (RecyclerTrace.ENABLED) RecyclerTrace.end();
     }
 
     private int getSpanCount(RecyclerView parent) {
@@ -158,88 +164,37 @@ public class GridItemDecoration extends RecyclerView.ItemDecoration {
         }
     }
 
-    /**
-     * 判读是否是第一列
-     */
-    private boolean isFirstColumn(RecyclerView parent, int pos, int spanCount, int childCount) {
+    private static int getLayout(RecyclerView parent) {
         RecyclerView.LayoutManager layoutManager = parent.getLayoutManager();
         if (layoutManager instanceof GridLayoutManager) {
-            return pos % spanCount == 0;
+            return GridPositions.LAYOUT_GRID;
         } else if (layoutManager instanceof StaggeredGridLayoutManager) {
-            int orientation = ((StaggeredGridLayoutManager) layoutManager)
-                    .getOrientation();
-            if (orientation == StaggeredGridLayoutManager.VERTICAL) {
-                // 第一列
-                return pos % spanCount == 0;
-            } else {
-                return pos % childCount == 0;
-            }
+            int orientation = ((StaggeredGridLayoutManager) layoutManager).getOrientation();
+            return orientation == StaggeredGridLayoutManager.VERTICAL
+                    ? GridPositions.LAYOUT_STAGGERED_VERTICAL : GridPositions.LAYOUT_STAGGERED_HORIZONTAL;
         }
-        return false;
+        return GridPositions.LAYOUT_OTHER;
     }
 
+    /**
+     * 判读是否是第一列
+     */
+    private boolean isFirstColumn(RecyclerView parent, int pos, int spanCount, int childCount) {
+        return GridPositions.isFirstColumn(getLayout(parent), pos, spanCount, childCount);
+    }
 
     // 判断是否是最后一列
     private boolean isLastColumn(RecyclerView parent, int pos, int spanCount, int childCount) {
-        RecyclerView.LayoutManager layoutManager = parent.getLayoutManager();
-        if (layoutManager instanceof GridLayoutManager) {
-            // 如果是最后一列，则不需要绘制右边
-            return (pos + 1) % spanCount == 0;
-        } else if (layoutManager instanceof StaggeredGridLayoutManager) {
-            int orientation = ((StaggeredGridLayoutManager) layoutManager).getOrientation();
-            if (orientation == StaggeredGridLayoutManager.VERTICAL) {
-                // 如果是最后一列，则不需要绘制右边
-                return (pos + 1) % spanCount == 0;
-            } else {
-                childCount = childCount - childCount % spanCount;
-                // 如果是最后一列，则不需要绘制右边
-                return pos >= childCount;
-            }
-        }
-        return false;
+        return GridPositions.isLastColumn(getLayout(parent), pos, spanCount, childCount);
     }
 
     //判断是否是第一行
     private boolean isFirstRow(RecyclerView parent, int pos, int spanCount, int childCount) {
-        RecyclerView.LayoutManager layoutManager = parent.getLayoutManager();
-        if (layoutManager instanceof GridLayoutManager) {
-            //如是第一行则返回true
-            return (pos % spanCount + 1) == 1;
-        } else if (layoutManager instanceof StaggeredGridLayoutManager) {
-            int orientation = ((StaggeredGridLayoutManager) layoutManager)
-                    .getOrientation();
-            // StaggeredGridLayoutManager 且纵向滚动
-            if (orientation == StaggeredGridLayoutManager.VERTICAL) {
-                childCount = childCount - childCount % spanCount;
-                return pos >= childCount;
-            } else {
-                return (pos + 1) % spanCount == 0;
-            }
-        }
-        return false;
+        return GridPositions.isFirstRow(getLayout(parent), pos, spanCount, childCount);
     }
 
     // 判断是否是最后一行
     private boolean isLastRaw(RecyclerView parent, int pos, int spanCount, int childCount) {
-        RecyclerView.LayoutManager layoutManager = parent.getLayoutManager();
-        if (layoutManager instanceof GridLayoutManager) {
-            childCount = childCount - childCount % spanCount;
-            // 如果是最后一行，则不需要绘制底部
-            return pos >= childCount;
-        } else if (layoutManager instanceof StaggeredGridLayoutManager) {
-            int orientation = ((StaggeredGridLayoutManager) layoutManager).getOrientation();
-            // StaggeredGridLayoutManager 且纵向滚动
-            if (orientation == StaggeredGridLayoutManager.VERTICAL) {
-                childCount = childCount - childCount % spanCount;
-                // 如果是最后一行，则不需要绘制底部
-                return pos >= childCount;
-            } else
-            // StaggeredGridLayoutManager 且横向滚动
-            {
-                // 如果是最后一行，则不需要绘制底部
-                return (pos + 1) % spanCount == 0;
-            }
-        }
-        return false;
+        return GridPositions.isLastRow(getLayout(parent), pos, spanCount, childCount);
     }
 }
@@ -0,0 +1,71 @@
+package com.gallopmark.recycler.decorationhepler;
+
+/**
+ * GridItemDecoration中按位置判断所在行、列的计算，不依赖Android，可在JVM上直接运行（见benchmarks模块）
+ */
+final class GridPositions {
+    static final int LAYOUT_OTHER = 0;
+    static final int LAYOUT_GRID = 1;
+    static final int LAYOUT_STAGGERED_VERTICAL = 2;
+    static final int LAYOUT_STAGGERED_HORIZONTAL = 3;
+
+    private GridPositions() {
+    }
+
+    /**
+     * 判读是否是第一列
+     */
+    static boolean isFirstColumn(int layout, int pos, int spanCount, int childCount) {
+        switch (layout) {
+            case LAYOUT_GRID:
+            case LAYOUT_STAGGERED_VERTICAL:
+                return pos % spanCount == 0;
+            case LAYOUT_STAGGERED_HORIZONTAL:
+                return pos % childCount == 0;
+            default:
+                return false;
+        }
+    }
+
+    // 判断是否是最后一列
+    static boolean isLastColumn(int layout, int pos, int spanCount, int childCount) {
+        switch (layout) {
+            case LAYOUT_GRID:
+            case LAYOUT_STAGGERED_VERTICAL:
+                // 如果是最后一列，则不需要绘制右边
+                return (pos + 1) % spanCount == 0;
+            case LAYOUT_STAGGERED_HORIZONTAL:
+                return pos >= childCount - childCount % spanCount;
+            default:
+                return false;
+        }
+    }
+
+    //判断是否是第一行
+    static boolean isFirstRow(int layout, int pos, int spanCount, int childCount) {
+        switch (layout) {
+            case LAYOUT_GRID:
+                return (pos % spanCount + 1) == 1;
+            case LAYOUT_STAGGERED_VERTICAL:
+                return pos >= childCount - childCount % spanCount;
+            case LAYOUT_STAGGERED_HORIZONTAL:
+                return (pos + 1) % spanCount == 0;
+            default:
+                return false;
+        }
+    }
+
+    // 判断是否是最后一行
+    static boolean isLastRow(int layout, int pos, int spanCount, int childCount) {
+        switch (layout) {
+            case LAYOUT_GRID:
+            case LAYOUT_STAGGERED_VERTICAL:
+                // 如果是最后一行，则不需要绘制底部
+                return pos >= childCount - childCount % spanCount;
+            case LAYOUT_STAGGERED_HORIZONTAL:
+                return (pos + 1) % spanCount == 0;
+            default:
+                return false;
+        }
+    }
+}
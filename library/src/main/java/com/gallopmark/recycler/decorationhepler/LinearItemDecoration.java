@@ -12,6 +12,8 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import android.view.View;
 
+import com.gallopmark.recycler.RecyclerTrace;
+
 /*LinearLayoutManager分割线*/
 public class LinearItemDecoration extends RecyclerView.ItemDecoration {
     private Paint mPaint;
@@ -99,11 +101,13 @@ public class LinearItemDecoration extends RecyclerView.ItemDecoration {
     @Override
     public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
         super.onDraw(c, parent, state);
+        if (RecyclerTrace.ENABLED) RecyclerTrace.begin("LinearItemDecoration.onDraw");
         if (mOrientation == LinearLayoutManager.VERTICAL) {
             drawVertical(c, parent);
         } else {
             drawHorizontal(c, parent);
         }
+        if (RecyclerTrace.ENABLED) RecyclerTrace.end();
     }
 
     /**
@@ -13,6 +13,7 @@ import android.view.animation.Interpolator;
 import android.widget.Scroller;
 
 import com.gallopmark.recycler.R;
+import com.gallopmark.recycler.RecyclerTrace;
 
 public class SwipeItemLayout extends ViewGroup {
     enum Mode {
@@ -85,6 +86,7 @@ public class SwipeItemLayout extends ViewGroup {
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (RecyclerTrace.ENABLED) RecyclerTrace.begin("SwipeItemLayout.onMeasure");
         //确定children
         ensureChildren();
         //先测量main
@@ -106,10 +108,12 @@ public class SwipeItemLayout extends ViewGroup {
                 continue;
             measureChildWithMargins(menuView, menuWidthSpec, 0, menuHeightSpec, 0);
         }
+        if (RecyclerTrace.ENABLED) RecyclerTrace.end();
     }
 
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        if (RecyclerTrace.ENABLED) RecyclerTrace.begin("SwipeItemLayout.onLayout");
         mInLayout = true;
         //确定children
         ensureChildren();
@@ -154,6 +158,7 @@ public class SwipeItemLayout extends ViewGroup {
         offsetChildrenLeftAndRight(scrollOffset);
 
         mInLayout = false;
+        if (RecyclerTrace.ENABLED) RecyclerTrace.end();
     }
 
     void offsetChildrenLeftAndRight(int delta) {
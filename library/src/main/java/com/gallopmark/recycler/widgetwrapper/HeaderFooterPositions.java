@@ -0,0 +1,50 @@
+package com.gallopmark.recycler.widgetwrapper;
+
+import android.util.SparseArray;
+
+/**
+ * 包裹Adapter的位置换算，只依赖SparseArray，可在JVM上直接运行（见benchmarks模块）
+ */
+final class HeaderFooterPositions {
+
+    private HeaderFooterPositions() {
+    }
+
+    /**
+     * 是不是头部位置
+     */
+    static boolean isHeaderPosition(int position, int headerCount) {
+        return position < headerCount;
+    }
+
+    /**
+     * 是不是底部位置
+     */
+    static boolean isFooterPosition(int position, int headerCount, int itemCount) {
+        return position >= headerCount + itemCount;
+    }
+
+    /**
+     * header、footer直接返回SparseArray中position位置的key，列表数据返回列表Adapter的viewType
+     */
+    static int getItemViewType(SparseArray<?> headers, SparseArray<?> footers, Items items, int position) {
+        int headerCount = headers.size();
+        if (isHeaderPosition(position, headerCount)) {
+            return headers.keyAt(position);
+        }
+        int itemCount = items.getItemCount();
+        if (isFooterPosition(position, headerCount, itemCount)) {
+            return footers.keyAt(position - headerCount - itemCount);
+        }
+        return items.getItemViewType(position - headerCount);
+    }
+
+    /**
+     * 列表数据
+     */
+    interface Items {
+        int getItemCount();
+
+        int getItemViewType(int position);
+    }
+}
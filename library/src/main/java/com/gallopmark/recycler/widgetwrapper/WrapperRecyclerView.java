@@ -10,6 +10,13 @@ import android.util.SparseArray;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.gallopmark.recycler.R;
+import com.gallopmark.recycler.RecyclerTrace;
+import com.gallopmark.recycler.adapterhelper.AdapterMetrics;
+import com.gallopmark.recycler.adapterhelper.AdapterMetricsListener;
+
+import java.util.List;
+
 /*实现带header和footer功能的RecyclerView*/
 public class WrapperRecyclerView extends RecyclerView {
     // 包裹了一层的头部底部Adapter
@@ -18,11 +25,15 @@ public class WrapperRecyclerView extends RecyclerView {
     private Adapter mAdapter;
     private SparseArray<View> mHeaderViews;
     private SparseArray<View> mFooterViews;
+    // 包裹Adapter的创建、绑定耗时统计，包含header和footer
+    private AdapterMetrics mMetrics;
 
     // 基本的头部类型开始位置  用于viewType
     private static int BASE_ITEM_TYPE_HEADER = 10000000;
     // 基本的底部类型开始位置  用于viewType
     private static int BASE_ITEM_TYPE_FOOTER = 20000000;
+    // 头部底部的stable id = 该值 + viewType，避免与列表数据的id冲突
+    private static final long BASE_HEADER_FOOTER_ID = Long.MIN_VALUE;
 
     public WrapperRecyclerView(Context context) {
         super(context);
@@ -56,6 +67,8 @@ public class WrapperRecyclerView extends RecyclerView {
             mWrapRecyclerAdapter = (WrapRecyclerAdapter) adapter;
         } else {
             mWrapRecyclerAdapter = new WrapRecyclerAdapter(adapter);
+            // 列表Adapter使用stable id时，包裹的Adapter也需要开启
+            mWrapRecyclerAdapter.setHasStableIds(adapter.hasStableIds());
         }
         super.setAdapter(mWrapRecyclerAdapter);
         // 注册一个观察者
@@ -64,6 +77,19 @@ public class WrapperRecyclerView extends RecyclerView {
         mWrapRecyclerAdapter.adjustSpanSize(this);
     }
 
+    /**
+     * 按viewType统计包裹Adapter的创建、绑定耗时，包含header、footer及列表Adapter本身的耗时，
+     * 每隔intervalMillis回调一次listener，listener为null时关闭统计
+     */
+    public void setAdapterMetricsListener(@Nullable AdapterMetricsListener listener, long intervalMillis) {
+        this.mMetrics = listener == null ? null : new AdapterMetrics(listener, intervalMillis);
+    }
+
+    @Nullable
+    public AdapterMetrics getAdapterMetrics() {
+        return mMetrics;
+    }
+
     // 添加头部
     public void addHeaderView(View view) {
         int position = mHeaderViews.indexOfValue(view);
@@ -120,7 +146,7 @@ public class WrapperRecyclerView extends RecyclerView {
             if (mAdapter == null) return;
             // 观察者  列表Adapter更新 包裹的也需要更新不然列表的notifyDataSetChanged没效果
             if (mWrapRecyclerAdapter != mAdapter)
-                mWrapRecyclerAdapter.notifyItemRemoved(positionStart);
+                mWrapRecyclerAdapter.notifyItemRangeRemoved(positionStart + mHeaderViews.size(), itemCount);
         }
 
         @Override
@@ -128,7 +154,7 @@ public class WrapperRecyclerView extends RecyclerView {
             if (mAdapter == null) return;
             // 观察者  列表Adapter更新 包裹的也需要更新不然列表的notifyItemMoved没效果
             if (mWrapRecyclerAdapter != mAdapter)
-                mWrapRecyclerAdapter.notifyItemMoved(fromPosition, toPosition);
+                mWrapRecyclerAdapter.notifyItemMoved(fromPosition + mHeaderViews.size(), toPosition + mHeaderViews.size());
         }
 
         @Override
@@ -136,7 +162,7 @@ public class WrapperRecyclerView extends RecyclerView {
             if (mAdapter == null) return;
             // 观察者  列表Adapter更新 包裹的也需要更新不然列表的notifyItemChanged没效果
             if (mWrapRecyclerAdapter != mAdapter)
-                mWrapRecyclerAdapter.notifyItemChanged(positionStart);
+                mWrapRecyclerAdapter.notifyItemRangeChanged(positionStart + mHeaderViews.size(), itemCount);
         }
 
         @Override
@@ -144,7 +170,7 @@ public class WrapperRecyclerView extends RecyclerView {
             if (mAdapter == null) return;
             // 观察者  列表Adapter更新 包裹的也需要更新不然列表的notifyItemChanged没效果
             if (mWrapRecyclerAdapter != mAdapter)
-                mWrapRecyclerAdapter.notifyItemChanged(positionStart, payload);
+                mWrapRecyclerAdapter.notifyItemRangeChanged(positionStart + mHeaderViews.size(), itemCount, payload);
         }
 
         @Override
@@ -152,7 +178,7 @@ public class WrapperRecyclerView extends RecyclerView {
             if (mAdapter == null) return;
             // 观察者  列表Adapter更新 包裹的也需要更新不然列表的notifyItemInserted没效果
             if (mWrapRecyclerAdapter != mAdapter)
-                mWrapRecyclerAdapter.notifyItemInserted(positionStart);
+                mWrapRecyclerAdapter.notifyItemRangeInserted(positionStart + mHeaderViews.size(), itemCount);
         }
     };
 
@@ -162,6 +188,17 @@ public class WrapperRecyclerView extends RecyclerView {
          * 数据列表的Adapter
          */
         private RecyclerView.Adapter mAdapter;
+        private final HeaderFooterPositions.Items mItems = new HeaderFooterPositions.Items() {
+            @Override
+            public int getItemCount() {
+                return mAdapter.getItemCount();
+            }
+
+            @Override
+            public int getItemViewType(int position) {
+                return mAdapter.getItemViewType(position);
+            }
+        };
 
         WrapRecyclerAdapter(RecyclerView.Adapter adapter) {
             this.mAdapter = adapter;
@@ -170,6 +207,15 @@ public class WrapperRecyclerView extends RecyclerView {
         @NonNull
         @Override
         public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            AdapterMetrics metrics = mMetrics;
+            if (metrics == null) return createViewHolderInternal(parent, viewType);
+            long start = System.nanoTime();
+            RecyclerView.ViewHolder holder = createViewHolderInternal(parent, viewType);
+            metrics.recordCreate(viewType, System.nanoTime() - start);
+            return holder;
+        }
+
+        private RecyclerView.ViewHolder createViewHolderInternal(ViewGroup parent, int viewType) {
             // viewType 可能就是 SparseArray 的key
             if (isHeaderViewType(viewType)) {
                 View headerView = mHeaderViews.get(viewType);
@@ -218,33 +264,92 @@ public class WrapperRecyclerView extends RecyclerView {
         }
 
         @Override
-        public int getItemViewType(int position) {
-            if (isHeaderPosition(position)) {
-                // 直接返回position位置的key
-                return mHeaderViews.keyAt(position);
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position, @NonNull List<Object> payloads) {
+            if (RecyclerTrace.ENABLED) RecyclerTrace.begin("WrapRecyclerAdapter.onBindViewHolder");
+            AdapterMetrics metrics = mMetrics;
+            if (metrics == null) {
+                bindViewHolderInternal(holder, position, payloads);
+            } else {
+                long start = System.nanoTime();
+                bindViewHolderInternal(holder, position, payloads);
+                metrics.recordBind(holder.getItemViewType(), System.nanoTime() - start, markBound(holder));
             }
-            if (isFooterPosition(position)) {
-                // 直接返回position位置的key
-                position = position - mHeaderViews.size() - mAdapter.getItemCount();
-                return mFooterViews.keyAt(position);
+            if (RecyclerTrace.ENABLED) RecyclerTrace.end();
+        }
+
+        /**
+         * 标记holder已绑定过，返回本次是否为重复绑定
+         * header、footer及任意列表Adapter的holder都可能经过这里，因此记录在itemView的tag上
+         */
+        private boolean markBound(RecyclerView.ViewHolder holder) {
+            if (holder.itemView.getTag(R.id.recycler_bound) != null) return true;
+            holder.itemView.setTag(R.id.recycler_bound, Boolean.TRUE);
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void bindViewHolderInternal(RecyclerView.ViewHolder holder, int position, List<Object> payloads) {
+            if (isHeaderPosition(position) || isFooterPosition(position)) {
+                return;
+            }
+            // 带payload的局部刷新也需要传给列表Adapter
+            final int adapterPosition = position - mHeaderViews.size();
+            mAdapter.onBindViewHolder(holder, adapterPosition, payloads);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
+            // 头部底部的holder不属于列表Adapter
+            if (isHeaderViewType(holder.getItemViewType()) || isFooterViewType(holder.getItemViewType())) {
+                return;
+            }
+            mAdapter.onViewRecycled(holder);
+        }
+
+        @Override
+        public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+            mAdapter.onAttachedToRecyclerView(recyclerView);
+        }
+
+        @Override
+        public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+            mAdapter.onDetachedFromRecyclerView(recyclerView);
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            if (!RecyclerTrace.ENABLED) return mapItemViewType(position);
+            RecyclerTrace.begin("WrapRecyclerAdapter.getItemViewType");
+            int viewType = mapItemViewType(position);
+            RecyclerTrace.end();
+            return viewType;
+        }
+
+        private int mapItemViewType(int position) {
+            return HeaderFooterPositions.getItemViewType(mHeaderViews, mFooterViews, mItems, position);
+        }
+
+        @Override
+        public long getItemId(int position) {
+            if (isHeaderPosition(position) || isFooterPosition(position)) {
+                return BASE_HEADER_FOOTER_ID + getItemViewType(position);
             }
-            // 返回列表Adapter的getItemViewType
-            position = position - mHeaderViews.size();
-            return mAdapter.getItemViewType(position);
+            return mAdapter.getItemId(position - mHeaderViews.size());
         }
 
         /**
          * 是不是底部位置
          */
         private boolean isFooterPosition(int position) {
-            return position >= (mHeaderViews.size() + mAdapter.getItemCount());
+            return HeaderFooterPositions.isFooterPosition(position, mHeaderViews.size(), mAdapter.getItemCount());
         }
 
         /**
          * 是不是头部位置
          */
         private boolean isHeaderPosition(int position) {
-            return position < mHeaderViews.size();
+            return HeaderFooterPositions.isHeaderPosition(position, mHeaderViews.size());
         }
 
         @Override
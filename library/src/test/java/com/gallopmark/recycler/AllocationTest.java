@@ -0,0 +1,124 @@
+package com.gallopmark.recycler;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Build;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.gallopmark.recycler.swipehelper.OnSwipeItemTouchListener;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 滑动时每帧都会经过的路径在稳定状态下不应分配对象
+ */
+@RunWith(RobolectricTestRunner.class)
+// TraceCompat在API 18以下为空操作，避免Robolectric记录trace区段时的分配计入结果
+@Config(sdk = Build.VERSION_CODES.JELLY_BEAN_MR1)
+public class AllocationTest {
+    private static final List<Object> NO_PAYLOADS = Collections.emptyList();
+
+    @Test
+    public void wrapAdapterRebind() {
+        RecyclerHarness harness = RecyclerHarness.linear(100);
+        // 数据未变化时重复绑定，依靠脏检查跳过对控件的调用
+        harness.adapter.setDirtyCheckEnabled(true);
+        final RecyclerView.Adapter adapter = harness.recyclerView.getAdapter();
+        final RecyclerView.ViewHolder holder = harness.recyclerView.findViewHolderForAdapterPosition(3);
+        Allocations.assertNoAllocation("WrapRecyclerAdapter.onBindViewHolder", new Runnable() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public void run() {
+                adapter.onBindViewHolder(holder, 3, NO_PAYLOADS);
+            }
+        }, null);
+    }
+
+    @Test
+    public void gridDecoration() {
+        RecyclerHarness harness = RecyclerHarness.grid(300);
+        assertDecorationDoesNotAllocate("GridItemDecoration", harness);
+    }
+
+    @Test
+    public void linearDecoration() {
+        RecyclerHarness harness = RecyclerHarness.linear(100);
+        assertDecorationDoesNotAllocate("LinearItemDecoration", harness);
+    }
+
+    @Test
+    public void swipeMove() {
+        RecyclerHarness harness = RecyclerHarness.linear(100);
+        final RecyclerView recyclerView = harness.recyclerView;
+        final OnSwipeItemTouchListener listener = harness.swipeListener;
+        View itemView = recyclerView.findViewHolderForAdapterPosition(2).itemView;
+        float x = itemView.getRight() - 10;
+        float y = (itemView.getTop() + itemView.getBottom()) / 2f;
+        long downTime = SystemClock.uptimeMillis();
+        listener.onInterceptTouchEvent(recyclerView, MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, x, y, 0));
+        // 超过touchSlop后进入拖拽状态
+        listener.onInterceptTouchEvent(recyclerView, MotionEvent.obtain(downTime, downTime + 16, MotionEvent.ACTION_MOVE, x - 100, y, 0));
+        final MotionEvent[] moves = {
+                MotionEvent.obtain(downTime, downTime + 32, MotionEvent.ACTION_MOVE, x - 120, y, 0),
+                MotionEvent.obtain(downTime, downTime + 48, MotionEvent.ACTION_MOVE, x - 100, y, 0)
+        };
+        final VelocityTracker velocityTracker = VelocityTracker.obtain();
+        Allocations.assertNoAllocation("OnSwipeItemTouchListener.onInterceptTouchEvent(MOVE)", new Runnable() {
+            private int mIndex;
+
+            @Override
+            public void run() {
+                listener.onInterceptTouchEvent(recyclerView, moves[mIndex++ & 1]);
+            }
+        }, new Runnable() {
+            private int mIndex;
+
+            // 监听中的VelocityTracker由Robolectric实现，其分配不属于本库
+            @Override
+            public void run() {
+                velocityTracker.addMovement(moves[mIndex++ & 1]);
+            }
+        });
+    }
+
+    private static void assertDecorationDoesNotAllocate(String name, RecyclerHarness harness) {
+        final RecyclerView recyclerView = harness.recyclerView;
+        final RecyclerView.ItemDecoration decoration = harness.decoration;
+        final RecyclerView.State state = new RecyclerView.State();
+        final Rect outRect = new Rect();
+        final View child = recyclerView.getChildAt(recyclerView.getChildCount() / 2);
+        final Canvas canvas = new NoopCanvas();
+        Allocations.assertNoAllocation(name + ".getItemOffsets", new Runnable() {
+            @Override
+            public void run() {
+                decoration.getItemOffsets(outRect, child, recyclerView, state);
+            }
+        }, null);
+        Allocations.assertNoAllocation(name + ".onDraw", new Runnable() {
+            @Override
+            public void run() {
+                decoration.onDraw(canvas, recyclerView, state);
+            }
+        }, null);
+    }
+
+    // Robolectric的Canvas会记录每次绘制，这里只关心分割线本身的计算
+    private static class NoopCanvas extends Canvas {
+        @Override
+        public void drawRect(float left, float top, float right, float bottom, @NonNull Paint paint) {
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.gallopmark.recycler;
+
+import androidx.annotation.Nullable;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * 通过ThreadMXBean统计当前线程分配的字节数，检查热路径在稳定状态下不分配对象
+ */
+public final class Allocations {
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 2000;
+    // 只容许测量本身偶发的少量分配（如首次调用getThreadAllocatedBytes）；
+    // 这不是按路径实测的预算：每次循环哪怕只分配一个对象，总量也在16 * ITERATIONS字节以上，远超该值
+    private static final long TOLERANCE_BYTES = 1024;
+    private static final Runnable EMPTY = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private Allocations() {
+    }
+
+    /**
+     * action先执行若干次进入稳定状态，之后仍分配内存时失败
+     *
+     * @param control action中框架调用（如Robolectric的shadow实现）的等价操作，其分配从结果中扣除；
+     *                为null时只扣除测量本身的分配
+     */
+    public static void assertNoAllocation(String name, Runnable action, @Nullable Runnable control) {
+        com.sun.management.ThreadMXBean bean = threadMXBean();
+        assumeTrue("当前JVM不支持统计线程分配", bean != null);
+        long baseline = measure(bean, control == null ? EMPTY : control);
+        long allocated = measure(bean, action) - baseline;
+        System.out.println("Allocations: " + name + " = " + allocated + "字节/" + ITERATIONS + "次，对照" + baseline + "字节");
+        if (allocated > TOLERANCE_BYTES) {
+            fail(name + "在稳定状态下仍分配内存：" + ITERATIONS + "次共" + allocated
+                    + "字节，平均每次" + allocated / ITERATIONS + "字节");
+        }
+    }
+
+    /**
+     * action执行期间当前线程分配的字节数，当前JVM不支持统计时返回-1
+     */
+    public static long allocatedBytes(Runnable action) {
+        com.sun.management.ThreadMXBean bean = threadMXBean();
+        if (bean == null) {
+            action.run();
+            return -1;
+        }
+        long threadId = Thread.currentThread().getId();
+        long start = bean.getThreadAllocatedBytes(threadId);
+        action.run();
+        return bean.getThreadAllocatedBytes(threadId) - start;
+    }
+
+    private static long measure(com.sun.management.ThreadMXBean bean, Runnable action) {
+        for (int i = 0; i < WARMUP; i++) {
+            action.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long start = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+        }
+        return bean.getThreadAllocatedBytes(threadId) - start;
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        if (!sunBean.isThreadAllocatedMemorySupported()) return null;
+        if (!sunBean.isThreadAllocatedMemoryEnabled()) sunBean.setThreadAllocatedMemoryEnabled(true);
+        return sunBean;
+    }
+}
@@ -0,0 +1,269 @@
+package com.gallopmark.recycler;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gallopmark.recycler.adapterhelper.AdapterMetrics;
+import com.gallopmark.recycler.adapterhelper.AdapterMetricsListener;
+import com.gallopmark.recycler.adapterhelper.CommonAdapter;
+import com.gallopmark.recycler.decorationhepler.GridItemDecoration;
+import com.gallopmark.recycler.decorationhepler.LinearItemDecoration;
+import com.gallopmark.recycler.swipehelper.OnSwipeItemTouchListener;
+import com.gallopmark.recycler.swipehelper.SwipeItemLayout;
+import com.gallopmark.recycler.widgetwrapper.WrapperRecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单元测试用的列表：WrapperRecyclerView + CommonAdapter + 分割线 + 侧滑
+ * 不挂载到窗口，手动measure/layout/draw；fling通过逐帧递减的scrollBy模拟，侧滑通过MotionEvent模拟，
+ * 所有操作同步完成，结果可重复
+ */
+public class RecyclerHarness {
+    public static final int WIDTH = 480;
+    public static final int HEIGHT = 800;
+
+    public final Context context;
+    public final WrapperRecyclerView recyclerView;
+    public final HarnessAdapter adapter;
+    public final RecyclerView.ItemDecoration decoration;
+    public final OnSwipeItemTouchListener swipeListener;
+    private final Canvas mCanvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+    private int mNextItem;
+    private int mAttachCount;
+    private int mMaxVisibleCount;
+    private int mPoolHitCount;
+
+    private RecyclerHarness(RecyclerView.LayoutManager layoutManager, RecyclerView.ItemDecoration decoration, int itemCount) {
+        context = ApplicationProvider.getApplicationContext();
+        recyclerView = new WrapperRecyclerView(context);
+        // 侧滑时会调用parent.requestDisallowInterceptTouchEvent，需要有parent
+        new FrameLayout(context).addView(recyclerView, WIDTH, HEIGHT);
+        recyclerView.setLayoutManager(layoutManager);
+        this.decoration = decoration;
+        recyclerView.addItemDecoration(decoration);
+        // 动画依赖窗口的帧回调，测试中直接关闭
+        recyclerView.setItemAnimator(null);
+        recyclerView.setRecycledViewPool(new RecyclerView.RecycledViewPool() {
+            @Nullable
+            @Override
+            public RecyclerView.ViewHolder getRecycledView(int viewType) {
+                RecyclerView.ViewHolder holder = super.getRecycledView(viewType);
+                if (holder != null) mPoolHitCount++;
+                return holder;
+            }
+        });
+        recyclerView.setAdapterMetricsListener(new AdapterMetricsListener() {
+            @Override
+            public void onMetricsSnapshot(@NonNull List<AdapterMetrics.Snapshot> snapshots) {
+            }
+        }, Long.MAX_VALUE);
+        recyclerView.addOnChildAttachStateChangeListener(new RecyclerView.OnChildAttachStateChangeListener() {
+            @Override
+            public void onChildViewAttachedToWindow(@NonNull View view) {
+                mAttachCount++;
+            }
+
+            @Override
+            public void onChildViewDetachedFromWindow(@NonNull View view) {
+            }
+        });
+        adapter = new HarnessAdapter(context, newItems(itemCount));
+        recyclerView.setAdapter(adapter);
+        recyclerView.addHeaderView(newTextView("header"));
+        recyclerView.addFooterView(newTextView("footer"));
+        swipeListener = new OnSwipeItemTouchListener(context);
+        recyclerView.addOnItemTouchListener(swipeListener);
+        layout();
+    }
+
+    public static RecyclerHarness grid(int itemCount) {
+        Context context = ApplicationProvider.getApplicationContext();
+        return new RecyclerHarness(new GridLayoutManager(context, 3),
+                new GridItemDecoration(context, 2, android.R.color.darker_gray, true, true), itemCount);
+    }
+
+    public static RecyclerHarness linear(int itemCount) {
+        Context context = ApplicationProvider.getApplicationContext();
+        return new RecyclerHarness(new LinearLayoutManager(context),
+                new LinearItemDecoration(LinearLayoutManager.VERTICAL, 2, Color.GRAY), itemCount);
+    }
+
+    /**
+     * 处理未完成的数据变化并重新布局
+     */
+    public void layout() {
+        recyclerView.requestLayout();
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+        mMaxVisibleCount = Math.max(mMaxVisibleCount, recyclerView.getChildCount());
+    }
+
+    public void draw() {
+        recyclerView.draw(mCanvas);
+    }
+
+    /**
+     * 包裹Adapter的统计，包含header、footer
+     */
+    public AdapterMetrics getMetrics() {
+        return recyclerView.getAdapterMetrics();
+    }
+
+    /**
+     * item进入列表的次数，从缓存中直接取回、不需要重新绑定的也计算在内
+     */
+    public int getAttachCount() {
+        return mAttachCount;
+    }
+
+    /**
+     * 从缓存池取到holder的次数；从mCachedViews取回的不经过缓存池，不计算在内
+     */
+    public int getPoolHitCount() {
+        return mPoolHitCount;
+    }
+
+    /**
+     * 目前为止同时显示的item数的最大值
+     */
+    public int getMaxVisibleCount() {
+        return mMaxVisibleCount;
+    }
+
+    /**
+     * 模拟一次fling：每帧滑动的距离从velocity开始逐帧衰减，直到滑完distance或到达边界，每帧都绘制
+     *
+     * @param distance 正数向下滑，负数向上滑
+     * @return 帧数
+     */
+    public int fling(int distance, int velocity) {
+        int direction = distance > 0 ? 1 : -1;
+        int remaining = Math.abs(distance);
+        int step = Math.abs(velocity);
+        int frames = 0;
+        while (remaining > 0 && recyclerView.canScrollVertically(direction)) {
+            int dy = Math.min(step, remaining);
+            recyclerView.scrollBy(0, dy * direction);
+            mMaxVisibleCount = Math.max(mMaxVisibleCount, recyclerView.getChildCount());
+            draw();
+            remaining -= dy;
+            step = Math.max(step * 9 / 10, 8);
+            frames++;
+        }
+        return frames;
+    }
+
+    /**
+     * 每帧滑动step直到到达边界，每帧都绘制
+     *
+     * @param direction 1向下滑，-1向上滑
+     * @return 帧数
+     */
+    public int scrollToEnd(int direction, int step) {
+        int frames = 0;
+        while (recyclerView.canScrollVertically(direction)) {
+            recyclerView.scrollBy(0, step * direction);
+            mMaxVisibleCount = Math.max(mMaxVisibleCount, recyclerView.getChildCount());
+            draw();
+            frames++;
+        }
+        return frames;
+    }
+
+    /**
+     * 在position对应的item上从右向左滑动，经过steps个MOVE事件
+     *
+     * @param position 包含header在内的位置
+     */
+    public void swipe(int position, int steps) {
+        RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(position);
+        if (holder == null) throw new IllegalStateException("position " + position + "不在屏幕内");
+        View itemView = holder.itemView;
+        float y = (itemView.getTop() + itemView.getBottom()) / 2f;
+        float startX = itemView.getRight() - 10;
+        long downTime = SystemClock.uptimeMillis();
+        dispatch(downTime, downTime, MotionEvent.ACTION_DOWN, startX, y);
+        for (int i = 1; i <= steps; i++) {
+            dispatch(downTime, downTime + i * 16, MotionEvent.ACTION_MOVE, startX - i * 12, y);
+        }
+        dispatch(downTime, downTime + (steps + 1) * 16, MotionEvent.ACTION_UP, startX - steps * 12, y);
+    }
+
+    private void dispatch(long downTime, long eventTime, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(downTime, eventTime, action, x, y, 0);
+        recyclerView.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    public List<String> newItems(int count) {
+        List<String> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add("item " + mNextItem++);
+        }
+        return items;
+    }
+
+    private TextView newTextView(String text) {
+        TextView textView = new TextView(context);
+        textView.setText(text);
+        textView.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 120));
+        return textView;
+    }
+
+    /**
+     * item为SwipeItemLayout，主体为系统的simple_list_item_1，右侧带一个菜单
+     */
+    public static class HarnessAdapter extends CommonAdapter<String> {
+
+        HarnessAdapter(Context context, List<String> datas) {
+            super(context, datas);
+        }
+
+        @Override
+        protected int bindView(int viewType) {
+            return android.R.layout.simple_list_item_1;
+        }
+
+        @NonNull
+        @Override
+        protected RecyclerHolder createHolder(@NonNull View itemView, int viewType) {
+            SwipeItemLayout swipeItem = new SwipeItemLayout(mContext);
+            SwipeItemLayout.LayoutParams mainParams = new SwipeItemLayout.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+            mainParams.itemType = 0x01;
+            swipeItem.addView(itemView, mainParams);
+            TextView menu = new TextView(mContext);
+            menu.setText("delete");
+            SwipeItemLayout.LayoutParams menuParams = new SwipeItemLayout.LayoutParams(
+                    ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.MATCH_PARENT);
+            menuParams.itemType = 0x02;
+            swipeItem.addView(menu, menuParams);
+            swipeItem.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+            return super.createHolder(swipeItem, viewType);
+        }
+
+        @Override
+        public void onBindHolder(RecyclerHolder holder, String s, int position) {
+            holder.setText(android.R.id.text1, s);
+        }
+    }
+}
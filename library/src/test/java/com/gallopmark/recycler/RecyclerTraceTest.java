@@ -0,0 +1,63 @@
+package com.gallopmark.recycler;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 经过各区段的用例只在开启RecyclerTrace时运行：./gradlew testDebugUnitTest -PrecyclerTrace=true
+ */
+@RunWith(RobolectricTestRunner.class)
+public class RecyclerTraceTest {
+
+    @Test
+    public void beginEndTracksDepth() {
+        RecyclerTrace.begin("outer");
+        RecyclerTrace.begin("inner");
+        assertEquals(2, RecyclerTrace.getDepth());
+        RecyclerTrace.end();
+        RecyclerTrace.end();
+        assertEquals(0, RecyclerTrace.getDepth());
+    }
+
+    @Test
+    public void sectionNamesAreCached() {
+        assertSame(RecyclerTrace.createSection(3), RecyclerTrace.createSection(3));
+        assertSame(RecyclerTrace.bindSection(3), RecyclerTrace.bindSection(3));
+    }
+
+    @Test
+    public void gridScrollAndMutationsCloseEverySection() {
+        Assume.assumeTrue(RecyclerTrace.ENABLED);
+        RecyclerHarness harness = RecyclerHarness.grid(300);
+        harness.draw();
+        assertEquals(0, RecyclerTrace.getDepth());
+        harness.fling(6000, 200);
+        assertEquals(0, RecyclerTrace.getDepth());
+        harness.adapter.addItems(0, harness.newItems(5));
+        harness.adapter.removeItem(10);
+        harness.adapter.updateItem(3, "changed", "payload");
+        harness.layout();
+        harness.draw();
+        assertEquals(0, RecyclerTrace.getDepth());
+        harness.fling(-6000, 200);
+        assertEquals(0, RecyclerTrace.getDepth());
+    }
+
+    @Test
+    public void linearSwipeClosesEverySection() {
+        Assume.assumeTrue(RecyclerTrace.ENABLED);
+        RecyclerHarness harness = RecyclerHarness.linear(100);
+        harness.draw();
+        harness.swipe(2, 10);
+        harness.layout();
+        harness.draw();
+        assertEquals(0, RecyclerTrace.getDepth());
+        harness.fling(3000, 150);
+        assertEquals(0, RecyclerTrace.getDepth());
+    }
+}
@@ -0,0 +1,145 @@
+package com.gallopmark.recycler;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.gallopmark.recycler.adapterhelper.AdapterMetrics;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 按脚本在10000行的列表上执行滑动、fling、数据变化、侧滑，统计创建、绑定、缓存池命中次数及分配的字节数，
+ * 并与scroll-budgets.properties中的预算比较
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScrollBudgetTest {
+    private static final int ROWS = 10000;
+    // 每帧滑动的距离，约为半屏
+    private static final int FRAME_STEP = RecyclerHarness.HEIGHT / 2;
+    private ScrollBudgets mBudgets;
+
+    @Before
+    public void setUp() {
+        mBudgets = new ScrollBudgets();
+    }
+
+    @Test
+    public void gridScroll() {
+        checkScroll("grid", RecyclerHarness.grid(ROWS));
+    }
+
+    @Test
+    public void linearScroll() {
+        checkScroll("linear", RecyclerHarness.linear(ROWS));
+    }
+
+    @Test
+    public void gridFling() {
+        RecyclerHarness harness = RecyclerHarness.grid(ROWS);
+        flingDownAndBack(harness);
+        checkReuse("grid.fling", harness);
+    }
+
+    @Test
+    public void linearFling() {
+        RecyclerHarness harness = RecyclerHarness.linear(ROWS);
+        flingDownAndBack(harness);
+        checkReuse("linear.fling", harness);
+    }
+
+    @Test
+    public void gridMutations() {
+        RecyclerHarness harness = RecyclerHarness.grid(ROWS);
+        harness.fling(1500, 120);
+        AdapterMetrics metrics = harness.getMetrics();
+        long binds = metrics.getTotalBindCount();
+        int attaches = harness.getAttachCount();
+        // 更新屏幕中间的一条，减去一个header
+        RecyclerView recyclerView = harness.recyclerView;
+        int middle = recyclerView.getChildAdapterPosition(recyclerView.getChildAt(recyclerView.getChildCount() / 2)) - 1;
+        harness.adapter.updateItem(middle, "changed", "payload");
+        harness.adapter.addItems(0, harness.newItems(5));
+        harness.adapter.removeItem(10);
+        harness.layout();
+        harness.draw();
+        long extraBinds = (metrics.getTotalBindCount() - binds) - (harness.getAttachCount() - attaches);
+        mBudgets.check("grid.mutations.extraBinds", extraBinds);
+    }
+
+    @Test
+    public void linearSwipe() {
+        RecyclerHarness harness = RecyclerHarness.linear(ROWS);
+        long binds = harness.getMetrics().getTotalBindCount();
+        harness.swipe(2, 10);
+        harness.swipe(3, 10);
+        harness.draw();
+        mBudgets.check("linear.swipe.binds", harness.getMetrics().getTotalBindCount() - binds);
+    }
+
+    @Test
+    public void rebindsAreCounted() {
+        RecyclerHarness harness = RecyclerHarness.linear(ROWS);
+        harness.fling(8000, 200);
+        AdapterMetrics metrics = harness.getMetrics();
+        // 滑过几屏之后绝大部分绑定都发生在复用的holder上
+        assertTrue(metrics.getTotalRebindCount() > 0);
+        assertTrue(metrics.getTotalRebindCount() < metrics.getTotalBindCount());
+        List<AdapterMetrics.Snapshot> snapshots = metrics.snapshot();
+        long rebinds = 0;
+        for (AdapterMetrics.Snapshot snapshot : snapshots) {
+            rebinds += snapshot.rebindCount;
+        }
+        assertEquals(metrics.getTotalRebindCount(), rebinds);
+    }
+
+    private static void flingDownAndBack(RecyclerHarness harness) {
+        harness.fling(12000, 220);
+        harness.fling(-4000, 160);
+        harness.fling(6000, 300);
+        harness.fling(-20000, 250);
+    }
+
+    /**
+     * 从头滑到尾再滑回顶部
+     */
+    private void checkScroll(final String name, final RecyclerHarness harness) {
+        final RecyclerView recyclerView = harness.recyclerView;
+        final int[] frames = new int[1];
+        final int[] lastPosition = new int[1];
+        long allocated = Allocations.allocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                frames[0] += harness.scrollToEnd(1, FRAME_STEP);
+                lastPosition[0] = recyclerView.getChildAdapterPosition(recyclerView.getChildAt(recyclerView.getChildCount() - 1));
+                frames[0] += harness.scrollToEnd(-1, FRAME_STEP);
+            }
+        });
+        // 确实滑到了footer
+        assertEquals(recyclerView.getAdapter().getItemCount() - 1, lastPosition[0]);
+        checkReuse(name + ".scroll", harness);
+        mBudgets.report(name + ".scroll.frames", frames[0]);
+        if (allocated >= 0) mBudgets.report(name + ".scroll.bytesPerFrame", (double) allocated / frames[0]);
+    }
+
+    private void checkReuse(String name, RecyclerHarness harness) {
+        AdapterMetrics metrics = harness.getMetrics();
+        assertTrue(harness.getMaxVisibleCount() > 0);
+        assertTrue(harness.getPoolHitCount() > 0);
+        long creates = metrics.getTotalCreateCount();
+        long binds = metrics.getTotalBindCount();
+        mBudgets.report(name + ".creates", creates);
+        mBudgets.report(name + ".binds", binds);
+        mBudgets.report(name + ".poolHits", harness.getPoolHitCount());
+        mBudgets.check(name + ".createsPerVisible", (double) creates / harness.getMaxVisibleCount());
+        mBudgets.check(name + ".bindsPerAttach", (double) binds / harness.getAttachCount());
+        // 缓存池未命中时才会创建
+        mBudgets.check(name + ".poolMissesPerBind", (double) creates / binds);
+    }
+}
@@ -0,0 +1,56 @@
+package com.gallopmark.recycler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+/**
+ * 读取src/test/resources/scroll-budgets.properties中的预算，超出时测试失败
+ * 每项实测值都会输出到标准输出，以ScrollBudgets:开头，调整预算时以此为依据
+ */
+public final class ScrollBudgets {
+    private static final String FILE = "scroll-budgets.properties";
+    private final Properties mBudgets = new Properties();
+
+    public ScrollBudgets() {
+        InputStream in = ScrollBudgets.class.getClassLoader().getResourceAsStream(FILE);
+        assertNotNull("缺少" + FILE, in);
+        try {
+            mBudgets.load(in);
+            in.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public double get(String key) {
+        String value = mBudgets.getProperty(key);
+        if (value == null) fail(FILE + "中缺少预算：" + key);
+        return Double.parseDouble(value.trim());
+    }
+
+    /**
+     * 输出实测值，设置了预算时检查是否超出
+     */
+    public void report(String key, double actual) {
+        if (mBudgets.getProperty(key) != null) {
+            check(key, actual);
+        } else {
+            System.out.println("ScrollBudgets: " + key + " = " + actual + "（未设置预算）");
+        }
+    }
+
+    /**
+     * 输出实测值，超过key对应的预算时失败
+     */
+    public void check(String key, double actual) {
+        double budget = get(key);
+        System.out.println("ScrollBudgets: " + key + " = " + actual + "，预算" + budget);
+        if (actual > budget) {
+            fail(key + " = " + actual + "，超出预算" + budget + "（见" + FILE + "）");
+        }
+    }
+}
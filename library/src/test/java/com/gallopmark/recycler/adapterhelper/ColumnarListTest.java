@@ -0,0 +1,66 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarListTest {
+    private static final int COLUMN_ID = 0;
+    private static final int COLUMN_NAME = 0;
+
+    @Test
+    public void indexOfUsesCursorPosition() {
+        ColumnarList list = newList(10);
+        assertEquals(5, list.indexOf(list.get(5)));
+        assertEquals(5, list.lastIndexOf(list.get(5)));
+        assertTrue(list.contains(list.get(9)));
+        // 同结构的其他集合的行不属于本集合
+        assertFalse(list.contains(newList(10).get(0)));
+        assertEquals(-1, list.indexOf("row 0"));
+    }
+
+    @Test
+    public void removeByRowRemovesThatRow() {
+        ColumnarList list = newList(10);
+        assertTrue(list.remove(list.get(5)));
+        assertEquals(9, list.size());
+        assertEquals(4, list.getLong(4, COLUMN_ID));
+        assertEquals(6, list.getLong(5, COLUMN_ID));
+    }
+
+    @Test
+    public void getRowIsNotMovedByGet() {
+        ColumnarList list = newList(10);
+        ColumnarList.Row row = list.getRow(3);
+        list.get(7);
+        assertEquals(3, row.getLong(COLUMN_ID));
+        assertEquals("row 3", row.getString(COLUMN_NAME));
+    }
+
+    @Test
+    public void copyKeepsOnlyStringsInUse() {
+        ColumnarList list = newList(3);
+        list.setString(1, COLUMN_NAME, null);
+        list.setString(2, COLUMN_NAME, "row 0");
+        ColumnarList copy = list.copy();
+        assertEquals(3, copy.size());
+        assertEquals("row 0", copy.getString(0, COLUMN_NAME));
+        assertNull(copy.getString(1, COLUMN_NAME));
+        assertEquals("row 0", copy.getString(2, COLUMN_NAME));
+        assertEquals(2, copy.getLong(2, COLUMN_ID));
+        assertEquals(1, copy.getStringPoolSize());
+    }
+
+    private static ColumnarList newList(int count) {
+        ColumnarList list = new ColumnarList(1, 0, 1);
+        for (int i = 0; i < count; i++) {
+            int row = list.appendRow();
+            list.setLong(row, COLUMN_ID, i);
+            list.setString(row, COLUMN_NAME, "row " + i);
+        }
+        return list;
+    }
+}
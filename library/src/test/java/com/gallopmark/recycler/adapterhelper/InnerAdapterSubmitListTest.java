@@ -0,0 +1,106 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 差异计算未完成时整体替换或单条修改数据，计算结果不应覆盖之后的修改
+ */
+@RunWith(RobolectricTestRunner.class)
+public class InnerAdapterSubmitListTest {
+    private final Queue<Runnable> mDiffTasks = new LinkedList<>();
+    private CommonAdapter<String> mAdapter;
+
+    @Before
+    public void setUp() {
+        mAdapter = new CommonAdapter<String>(ApplicationProvider.getApplicationContext(),
+                new ArrayList<>(Arrays.asList("a", "b", "c"))) {
+            @Override
+            protected int bindView(int viewType) {
+                return 0;
+            }
+
+            @Override
+            public void onBindHolder(RecyclerHolder holder, String s, int position) {
+            }
+        };
+        mAdapter.setDiffExecutor(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                mDiffTasks.add(command);
+            }
+        });
+    }
+
+    @Test
+    public void clearDataDiscardsPendingDiff() {
+        mAdapter.submitList(Arrays.asList("a", "c", "d"));
+        mAdapter.clearData();
+        drain();
+        assertEquals(0, mAdapter.getItemCount());
+    }
+
+    @Test
+    public void refreshDiscardsPendingDiff() {
+        mAdapter.submitList(Arrays.asList("a", "c", "d"));
+        mAdapter.bindData(true, Arrays.asList("x", "y"));
+        drain();
+        assertEquals(Arrays.asList("x", "y"), items());
+    }
+
+    @Test
+    public void replaceDataDiscardsPendingDiff() {
+        mAdapter.submitList(Arrays.asList("a", "c", "d"));
+        mAdapter.replaceData(Arrays.asList("x"));
+        drain();
+        assertEquals(Arrays.asList("x"), items());
+    }
+
+    @Test
+    public void singleEditsApplyOnTopOfSubmittedList() {
+        mAdapter.submitList(Arrays.asList("a", "c", "d"));
+        assertTrue(mAdapter.addItem("e"));
+        assertTrue(mAdapter.removeItem("a"));
+        drain();
+        assertEquals(Arrays.asList("c", "d", "e"), items());
+    }
+
+    @Test
+    public void diffWithoutInterferenceIsApplied() {
+        mAdapter.submitList(Arrays.asList("a", "c", "d"));
+        drain();
+        assertEquals(Arrays.asList("a", "c", "d"), items());
+    }
+
+    private void drain() {
+        Runnable task;
+        while ((task = mDiffTasks.poll()) != null) {
+            task.run();
+        }
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    }
+
+    private List<String> items() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < mAdapter.getItemCount(); i++) {
+            items.add(mAdapter.getItem(i));
+        }
+        return items;
+    }
+}
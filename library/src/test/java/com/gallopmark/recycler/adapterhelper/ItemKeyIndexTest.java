@@ -0,0 +1,76 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ItemKeyIndexTest {
+    private List<String> mDatas;
+    private ItemKeyIndex<String> mIndex;
+
+    @Before
+    public void setUp() {
+        mDatas = new ArrayList<>(Arrays.asList("a", "b", "c"));
+        mIndex = new ItemKeyIndex<String>() {
+            @Override
+            Object keyOf(String s) {
+                return s;
+            }
+        };
+        mIndex.indexOf(mDatas, "a");
+    }
+
+    @Test
+    public void duplicateKeyResolvesToFirstOccurrence() {
+        mDatas.addAll(0, Arrays.asList("a", "x"));
+        mIndex.onInserted(mDatas, 0, 2);
+        assertEquals(0, mIndex.indexOf(mDatas, "a"));
+    }
+
+    @Test
+    public void keyStaysWhileInstancesRemain() {
+        mDatas.addAll(0, Arrays.asList("a", "x"));
+        mIndex.onInserted(mDatas, 0, 2);
+        mIndex.onRemoved(mDatas.remove(0), 0);
+        assertTrue(mIndex.contains(mDatas, "a"));
+        assertEquals(mDatas.indexOf("a"), mIndex.indexOf(mDatas, "a"));
+    }
+
+    @Test
+    public void matchesListAfterRandomMutations() {
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            String key = "k" + random.nextInt(15);
+            switch (random.nextInt(4)) {
+                case 0: {
+                    int position = random.nextInt(mDatas.size() + 1);
+                    mDatas.add(position, key);
+                    mIndex.onInserted(mDatas, position, 1);
+                    break;
+                }
+                case 1: {
+                    if (mDatas.isEmpty()) break;
+                    int position = random.nextInt(mDatas.size());
+                    mIndex.onRemoved(mDatas.remove(position), position);
+                    break;
+                }
+                case 2: {
+                    if (mDatas.isEmpty()) break;
+                    int position = random.nextInt(mDatas.size());
+                    mIndex.onReplaced(mDatas.set(position, key), key, position);
+                    break;
+                }
+                default:
+                    assertEquals(mDatas.indexOf(key), mIndex.indexOf(mDatas, key));
+                    assertEquals(mDatas.contains(key), mIndex.contains(mDatas, key));
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.content.Context;
+import android.widget.FrameLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 页加载失败时记录并通知，retry()后重新加载
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PagedInnerAdapterTest {
+    private static final int PAGE_SIZE = 10;
+
+    private boolean mFailing = true;
+    private final List<Integer> mErrorPages = new ArrayList<>();
+    private PagedInnerAdapter<String> mAdapter;
+    private BaseRecyclerAdapter.RecyclerHolder mHolder;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        mAdapter = new PagedInnerAdapter<String>(context, new PagedInnerAdapter.PageSource<String>() {
+            @Override
+            public int getTotalCount() {
+                return 35;
+            }
+
+            @NonNull
+            @Override
+            public List<String> loadPage(int pageIndex, int pageSize) {
+                if (mFailing) throw new IllegalStateException("offline");
+                List<String> page = new ArrayList<>();
+                for (int i = 0; i < pageSize; i++) {
+                    page.add("item " + (pageIndex * pageSize + i));
+                }
+                return page;
+            }
+        }, PAGE_SIZE, 3) {
+            @Override
+            protected int bindView(int viewType) {
+                return 0;
+            }
+
+            @Override
+            public void onBindHolder(RecyclerHolder holder, @Nullable String s, int position) {
+            }
+        };
+        mAdapter.setPrefetchPages(0);
+        mAdapter.setExecutor(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                command.run();
+            }
+        });
+        mAdapter.setOnPageLoadErrorListener(new PagedInnerAdapter.OnPageLoadErrorListener() {
+            @Override
+            public void onPageLoadError(PagedInnerAdapter<?> adapter, int pageIndex, @NonNull RuntimeException e) {
+                mErrorPages.add(pageIndex);
+            }
+        });
+        mHolder = mAdapter.createHolder(new FrameLayout(context), 0);
+        mAdapter.refresh();
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    }
+
+    @Test
+    public void failureIsReportedAndRecorded() {
+        bind(12);
+        assertEquals(1, mErrorPages.size());
+        assertEquals(1, (int) mErrorPages.get(0));
+        assertTrue(mAdapter.isLoadFailed(12));
+        assertFalse(mAdapter.isLoaded(12));
+        assertNull(mAdapter.getItem(12));
+    }
+
+    @Test
+    public void retryReloadsFailedPages() {
+        bind(12);
+        mFailing = false;
+        mAdapter.retry();
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        assertFalse(mAdapter.isLoadFailed(12));
+        assertEquals("item 12", mAdapter.getItem(12));
+    }
+
+    @Test
+    public void nextBindRetries() {
+        bind(12);
+        mFailing = false;
+        bind(15);
+        assertEquals("item 15", mAdapter.getItem(15));
+        assertEquals(1, mErrorPages.size());
+    }
+
+    private void bind(int position) {
+        mAdapter.onBindViewHolder(mHolder, position);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    }
+}
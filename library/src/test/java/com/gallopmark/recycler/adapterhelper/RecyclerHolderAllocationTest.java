@@ -0,0 +1,129 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.View;
+import android.widget.CheckBox;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.gallopmark.recycler.Allocations;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+
+/**
+ * 开启脏检查后，用相同的值重复调用RecyclerHolder的setter不应分配对象
+ */
+@RunWith(RobolectricTestRunner.class)
+public class RecyclerHolderAllocationTest {
+    private BaseRecyclerAdapter.RecyclerHolder mHolder;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        CommonAdapter<String> adapter = new CommonAdapter<String>(context, new ArrayList<String>()) {
+            @Override
+            protected int bindView(int viewType) {
+                return 0;
+            }
+
+            @Override
+            public void onBindHolder(RecyclerHolder holder, String s, int position) {
+            }
+        };
+        adapter.setDirtyCheckEnabled(true);
+        LinearLayout itemView = new LinearLayout(context);
+        addChild(itemView, new TextView(context), android.R.id.text1);
+        addChild(itemView, new TextView(context), android.R.id.text2);
+        addChild(itemView, new ImageView(context), android.R.id.icon);
+        addChild(itemView, new View(context), android.R.id.background);
+        addChild(itemView, new CheckBox(context), android.R.id.checkbox);
+        mHolder = adapter.createHolder(itemView, 0);
+    }
+
+    @Test
+    public void setText() {
+        Allocations.assertNoAllocation("setText", new Runnable() {
+            @Override
+            public void run() {
+                mHolder.setText(android.R.id.text1, "text");
+            }
+        }, null);
+    }
+
+    @Test
+    public void setTextColor() {
+        Allocations.assertNoAllocation("setTextColor", new Runnable() {
+            @Override
+            public void run() {
+                mHolder.setTextColor(android.R.id.text1, Color.RED);
+                mHolder.setTextColorRes(android.R.id.text2, android.R.color.darker_gray);
+            }
+        }, null);
+    }
+
+    @Test
+    public void setVisibility() {
+        Allocations.assertNoAllocation("setVisibility", new Runnable() {
+            @Override
+            public void run() {
+                mHolder.setVisibility(android.R.id.text1, true);
+                mHolder.setInVisibility(android.R.id.text2);
+            }
+        }, null);
+    }
+
+    @Test
+    public void setImageResource() {
+        Allocations.assertNoAllocation("setImageResource", new Runnable() {
+            @Override
+            public void run() {
+                mHolder.setImageResource(android.R.id.icon, android.R.drawable.ic_delete);
+            }
+        }, null);
+    }
+
+    @Test
+    public void setBackgroundResource() {
+        Allocations.assertNoAllocation("setBackgroundResource", new Runnable() {
+            @Override
+            public void run() {
+                mHolder.setBackgroundResource(android.R.id.background, android.R.color.darker_gray);
+            }
+        }, null);
+    }
+
+    @Test
+    public void setCompoundDrawable() {
+        Allocations.assertNoAllocation("setDrawableLeft", new Runnable() {
+            @Override
+            public void run() {
+                mHolder.setDrawableLeft(android.R.id.text2, android.R.drawable.ic_delete);
+            }
+        }, null);
+    }
+
+    @Test
+    public void setCheckedAndEnabled() {
+        Allocations.assertNoAllocation("setChecked", new Runnable() {
+            @Override
+            public void run() {
+                mHolder.setChecked(android.R.id.checkbox, true);
+                mHolder.setEnabled(android.R.id.checkbox, false);
+            }
+        }, null);
+    }
+
+    private static void addChild(LinearLayout parent, View child, int id) {
+        child.setId(id);
+        parent.addView(child);
+    }
+}
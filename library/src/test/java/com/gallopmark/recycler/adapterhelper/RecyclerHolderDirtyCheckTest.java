@@ -0,0 +1,112 @@
+package com.gallopmark.recycler.adapterhelper;
+
+import android.content.Context;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 设置与当前相同的资源时跳过对控件的调用
+ */
+@RunWith(RobolectricTestRunner.class)
+public class RecyclerHolderDirtyCheckTest {
+    private CommonAdapter<String> mAdapter;
+    private BaseRecyclerAdapter.RecyclerHolder mHolder;
+    private ImageView mImageView;
+    private View mBackgroundView;
+    private TextView mTextView;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        mAdapter = new CommonAdapter<String>(context, new ArrayList<String>()) {
+            @Override
+            protected int bindView(int viewType) {
+                return 0;
+            }
+
+            @Override
+            public void onBindHolder(RecyclerHolder holder, String s, int position) {
+            }
+        };
+        LinearLayout itemView = new LinearLayout(context);
+        mImageView = new ImageView(context);
+        mImageView.setId(android.R.id.icon);
+        itemView.addView(mImageView);
+        mBackgroundView = new View(context);
+        mBackgroundView.setId(android.R.id.background);
+        itemView.addView(mBackgroundView);
+        mTextView = new TextView(context);
+        mTextView.setId(android.R.id.text1);
+        itemView.addView(mTextView);
+        mHolder = mAdapter.createHolder(itemView, 0);
+    }
+
+    @Test
+    public void sameImageResourceKeepsDrawable() {
+        mHolder.setImageResource(android.R.id.icon, android.R.drawable.ic_delete);
+        Drawable drawable = mImageView.getDrawable();
+        // 未开启脏检查时同样不重新创建Drawable，但不计入跳过次数
+        mHolder.setImageResource(android.R.id.icon, android.R.drawable.ic_delete);
+        assertSame(drawable, mImageView.getDrawable());
+        assertEquals(0, mAdapter.getSkippedInvalidationCount());
+        mHolder.setImageResource(android.R.id.icon, android.R.drawable.ic_input_add);
+        assertNotSame(drawable, mImageView.getDrawable());
+    }
+
+    @Test
+    public void imageChangedOutsideHolderIsReplaced() {
+        mHolder.setImageResource(android.R.id.icon, android.R.drawable.ic_delete);
+        Drawable drawable = mImageView.getDrawable();
+        mImageView.setImageDrawable(new ColorDrawable());
+        mHolder.setImageResource(android.R.id.icon, android.R.drawable.ic_delete);
+        assertSame(drawable.getConstantState(), mImageView.getDrawable().getConstantState());
+    }
+
+    @Test
+    public void sameBackgroundResourceKeepsDrawable() {
+        mAdapter.setDirtyCheckEnabled(true);
+        mHolder.setBackgroundResource(android.R.id.background, android.R.drawable.ic_delete);
+        Drawable background = mBackgroundView.getBackground();
+        mHolder.setBackgroundResource(android.R.id.background, android.R.drawable.ic_delete);
+        assertSame(background, mBackgroundView.getBackground());
+        assertEquals(1, mAdapter.getSkippedInvalidationCount());
+    }
+
+    @Test
+    public void compoundDrawableSkippedOnlyWithDirtyCheck() {
+        mHolder.setDrawableLeft(android.R.id.text1, android.R.drawable.ic_delete);
+        Drawable left = mTextView.getCompoundDrawables()[0];
+        mHolder.setDrawableLeft(android.R.id.text1, android.R.drawable.ic_delete);
+        assertNotSame(left, mTextView.getCompoundDrawables()[0]);
+
+        mAdapter.setDirtyCheckEnabled(true);
+        mHolder.setDrawableLeft(android.R.id.text1, android.R.drawable.ic_delete);
+        left = mTextView.getCompoundDrawables()[0];
+        mHolder.setDrawableLeft(android.R.id.text1, android.R.drawable.ic_delete);
+        assertSame(left, mTextView.getCompoundDrawables()[0]);
+        assertEquals(1, mAdapter.getSkippedInvalidationCount());
+        // 换到其他位置或通过Drawable设置后记录失效
+        mHolder.setDrawableRight(android.R.id.text1, android.R.drawable.ic_delete);
+        assertEquals(1, mAdapter.getSkippedInvalidationCount());
+        mHolder.setDrawableLeft(android.R.id.text1, (Drawable) null);
+        mHolder.setDrawableLeft(android.R.id.text1, android.R.drawable.ic_delete);
+        assertEquals(1, mAdapter.getSkippedInvalidationCount());
+    }
+}